@@ -0,0 +1,58 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Key sets shared by the benchmarks. How keys are spread out matters as much
+ * as how many there are, so every keyed benchmark runs against each of these.
+ *
+ *   - SEQUENTIAL  0, 1, 2, ... like database IDs
+ *   - RANDOM      distinct uniformly random ints
+ *   - STRIDED     multiples of 1024, which all share their low bits
+ */
+
+public enum BenchmarkKeys {
+    SEQUENTIAL, RANDOM, STRIDED;
+
+    Integer[] generate(int size) {
+        Integer[] keys = new Integer[size];
+        Random random = new Random(size);
+        HashSet<Integer> seen = new HashSet<>();
+
+        for (int i = 0; i < size; i++) {
+            switch (this) {
+                case SEQUENTIAL:
+                    keys[i] = i;
+                    break;
+                case STRIDED:
+                    keys[i] = i << 10;
+                    break;
+                default:
+                    Integer key;
+                    do {
+                        key = random.nextInt();
+                    } while (!seen.add(key));
+                    keys[i] = key;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * The same keys in a shuffled order, so lookups don't just walk memory in
+     * the order it was filled.
+     */
+
+    static Integer[] shuffled(Integer[] keys) {
+        Integer[] copy = keys.clone();
+        Random random = new Random(copy.length * 31L);
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = copy[i];
+            copy[i] = copy[j];
+            copy[j] = swap;
+        }
+        return copy;
+    }
+}
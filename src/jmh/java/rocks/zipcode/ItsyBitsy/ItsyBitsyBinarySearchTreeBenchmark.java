@@ -0,0 +1,85 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ItsyBitsyBinarySearchTree doesn't balance itself, so SEQUENTIAL keys turn it
+ * into a linked list. That's the point of running every distribution: the
+ * gap between RANDOM and SEQUENTIAL is the price of not balancing.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItsyBitsyBinarySearchTreeBenchmark {
+
+    @Param({ "1000", "10000" })
+    int size;
+
+    @Param({ "SEQUENTIAL", "RANDOM" })
+    BenchmarkKeys distribution;
+
+    Integer[] keys;
+    Integer[] lookups;
+    int next;
+
+    ItsyBitsyBinarySearchTree<Integer> tree;
+    TreeSet<Integer> treeSet;
+
+    @Setup
+    public void setup() {
+        keys = distribution.generate(size);
+        lookups = BenchmarkKeys.shuffled(keys);
+
+        tree = new ItsyBitsyBinarySearchTree<>();
+        treeSet = new TreeSet<>();
+        for (Integer key : keys) {
+            tree.add(key);
+            treeSet.add(key);
+        }
+    }
+
+    @Benchmark
+    public ItsyBitsyBinarySearchTree<Integer> itsyBitsyBinarySearchTreeAdd() {
+        ItsyBitsyBinarySearchTree<Integer> fresh = new ItsyBitsyBinarySearchTree<>();
+        for (Integer key : keys) fresh.add(key);
+        return fresh;
+    }
+
+    @Benchmark
+    public TreeSet<Integer> treeSetAdd() {
+        TreeSet<Integer> fresh = new TreeSet<>();
+        for (Integer key : keys) fresh.add(key);
+        return fresh;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Boolean itsyBitsyBinarySearchTreeContains() {
+        if (++next == size) next = 0;
+        return tree.contains(lookups[next]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean treeSetContains() {
+        if (++next == size) next = 0;
+        return treeSet.contains(lookups[next]);
+    }
+}
@@ -0,0 +1,90 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The java.util equivalent of a graph is an adjacency map: each value mapped
+ * to the list of values it has lines to.
+ *
+ * ItsyBitsyGraph.find compares values with "==", so every lookup reuses the
+ * exact Integer objects the graph was built with.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItsyBitsyGraphBenchmark {
+
+    @Param({ "100", "10000" })
+    int size;
+
+    Integer[] values;
+    Integer[] lookups;
+    int next;
+
+    ItsyBitsyGraph<Integer> graph;
+    HashMap<Integer, ArrayList<Integer>> adjacency;
+
+    @Setup
+    public void setup() {
+        values = BenchmarkKeys.RANDOM.generate(size);
+        lookups = BenchmarkKeys.shuffled(values);
+    }
+
+    // Lines pile up while addLine runs, so start every iteration from a graph
+    // with no lines at all.
+    @Setup(Level.Iteration)
+    public void build() {
+        graph = new ItsyBitsyGraph<>();
+        adjacency = new HashMap<>();
+        for (Integer value : values) {
+            graph.addNode(value);
+            adjacency.put(value, new ArrayList<>());
+        }
+    }
+
+    private int nextIndex() {
+        if (++next == size) next = 0;
+        return next;
+    }
+
+    @Benchmark
+    public Object itsyBitsyGraphFind() {
+        return graph.find(lookups[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object adjacencyMapFind() {
+        return adjacency.get(lookups[nextIndex()]);
+    }
+
+    @Benchmark
+    public void itsyBitsyGraphAddLine() {
+        int index = nextIndex();
+        graph.addLine(lookups[index], values[index]);
+    }
+
+    @Benchmark
+    public boolean adjacencyMapAddLine() {
+        int index = nextIndex();
+        return adjacency.get(lookups[index]).add(values[index]);
+    }
+}
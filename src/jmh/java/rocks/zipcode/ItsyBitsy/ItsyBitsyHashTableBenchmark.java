@@ -0,0 +1,118 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single get and set calls against a table already holding "size" keys. Hits
+ * look up keys that are present, misses look up keys that never were.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItsyBitsyHashTableBenchmark {
+
+    @Param({ "1000", "100000" })
+    int size;
+
+    @Param({ "SEQUENTIAL", "RANDOM", "STRIDED" })
+    BenchmarkKeys distribution;
+
+    Integer[] keys;
+    Integer[] lookups;
+    Integer[] missing;
+    int next;
+
+    ItsyBitsyHashTable<Integer> table;
+    ItsyBitsySwissTable<Integer, Integer> swissTable;
+    HashMap<Integer, Integer> hashMap;
+
+    @Setup
+    public void setup() {
+        keys = distribution.generate(size);
+        lookups = BenchmarkKeys.shuffled(keys);
+        missing = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            // Negative keys are never generated by any distribution.
+            missing[i] = -1 - i;
+        }
+
+        table = new ItsyBitsyHashTable<>(0);
+        swissTable = new ItsyBitsySwissTable<>();
+        hashMap = new HashMap<>();
+        for (Integer key : keys) {
+            table.set(key, key);
+            swissTable.set(key, key);
+            hashMap.put(key, key);
+        }
+    }
+
+    private int nextIndex() {
+        if (++next == size) next = 0;
+        return next;
+    }
+
+    @Benchmark
+    public Integer itsyBitsyHashTableGetHit() {
+        return table.get(lookups[nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer swissTableGetHit() {
+        return swissTable.get(lookups[nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer hashMapGetHit() {
+        return hashMap.get(lookups[nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer itsyBitsyHashTableGetMiss() {
+        return table.get(missing[nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer swissTableGetMiss() {
+        return swissTable.get(missing[nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer hashMapGetMiss() {
+        return hashMap.get(missing[nextIndex()]);
+    }
+
+    @Benchmark
+    public void itsyBitsyHashTableSet() {
+        Integer key = lookups[nextIndex()];
+        table.set(key, key);
+    }
+
+    @Benchmark
+    public void swissTableSet() {
+        Integer key = lookups[nextIndex()];
+        swissTable.set(key, key);
+    }
+
+    @Benchmark
+    public Integer hashMapSet() {
+        Integer key = lookups[nextIndex()];
+        return hashMap.put(key, key);
+    }
+}
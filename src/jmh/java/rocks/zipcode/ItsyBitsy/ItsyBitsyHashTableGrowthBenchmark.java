@@ -0,0 +1,56 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sets new keys into a table that keeps growing, sampling the time of every
+ * single set. The average hides the resizes, so look at the p99.9 and p100
+ * columns: with "incremental" on they should stay close to the median.
+ *
+ * The keys count up 0, 1, 2, ... so the hash has to spread them out well,
+ * otherwise we'd only be timing clustering. MURMUR does.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItsyBitsyHashTableGrowthBenchmark {
+
+    @Param({ "false", "true" })
+    boolean incremental;
+
+    ItsyBitsyHashTable<Integer> table;
+    int next;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        table = new ItsyBitsyHashTable<>(0, 16, 0.75, incremental, ItsyBitsyHashTable.HashStrategy.MURMUR);
+        next = 0;
+    }
+
+    @Benchmark
+    public void itsyBitsyHashTableSetNew() {
+        // Start over before the table gets anywhere near full.
+        if (++next == 1 << 24) {
+            setup();
+        }
+        Integer key = next;
+        table.set(key, key);
+    }
+}
@@ -0,0 +1,174 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * "append" adds "size" values at the end and removes them from the front.
+ * "get" reads one random position from a list of "size" values.
+ * "iterate" sums every value, "churn" adds one value and removes another,
+ * "size" times. Run churn with "-prof gc" to see the pool's effect on garbage.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItsyBitsyLinkedListBenchmark {
+
+    @Param({ "100", "10000" })
+    int size;
+
+    Integer[] values;
+    int[] positions;
+    int next;
+
+    ItsyBitsyLinkedList<Integer> itsyBitsyList;
+    ItsyBitsyUnrolledLinkedList<Integer> unrolledList;
+    ItsyBitsySkipList<Integer> skipList;
+    ItsyBitsyLinkedList<Integer> pooledList;
+    LinkedList<Integer> linkedList;
+
+    @Setup
+    public void setup() {
+        values = BenchmarkKeys.RANDOM.generate(size);
+        positions = new int[size];
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            positions[i] = random.nextInt(size);
+        }
+
+        itsyBitsyList = new ItsyBitsyLinkedList<>();
+        unrolledList = new ItsyBitsyUnrolledLinkedList<>();
+        skipList = new ItsyBitsySkipList<>();
+        pooledList = new ItsyBitsyLinkedList<>(64);
+        linkedList = new LinkedList<>();
+        for (Integer value : values) {
+            itsyBitsyList.add(value, itsyBitsyList.length);
+            unrolledList.add(value, unrolledList.length);
+            skipList.add(value, skipList.length);
+            pooledList.addLast(value);
+            linkedList.add(value);
+        }
+    }
+
+    private int nextPosition() {
+        if (++next == size) next = 0;
+        return positions[next];
+    }
+
+    @Benchmark
+    public void itsyBitsyLinkedListAppend(Blackhole blackhole) {
+        ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>();
+        for (Integer value : values) list.add(value, list.length);
+        for (int i = 0; i < size; i++) blackhole.consume(list.remove(0));
+    }
+
+    @Benchmark
+    public void linkedListAppend(Blackhole blackhole) {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (Integer value : values) list.add(list.size(), value);
+        for (int i = 0; i < size; i++) blackhole.consume(list.remove(0));
+    }
+
+    @Benchmark
+    public Object itsyBitsyLinkedListGet() {
+        return itsyBitsyList.get(nextPosition());
+    }
+
+    @Benchmark
+    public Integer linkedListGet() {
+        return linkedList.get(nextPosition());
+    }
+
+    @Benchmark
+    public long itsyBitsyLinkedListIterate() {
+        long sum = 0;
+        for (Integer value : itsyBitsyList) sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public long itsyBitsyLinkedListGetLoop() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) sum += itsyBitsyList.get(i).value;
+        return sum;
+    }
+
+    @Benchmark
+    public long linkedListIterate() {
+        long sum = 0;
+        for (Integer value : linkedList) sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public void unrolledLinkedListAppend(Blackhole blackhole) {
+        ItsyBitsyUnrolledLinkedList<Integer> list = new ItsyBitsyUnrolledLinkedList<>();
+        for (Integer value : values) list.add(value, list.length);
+        for (int i = 0; i < size; i++) blackhole.consume(list.remove(0));
+    }
+
+    @Benchmark
+    public Integer unrolledLinkedListGet() {
+        return unrolledList.get(nextPosition());
+    }
+
+    @Benchmark
+    public long unrolledLinkedListIterate() {
+        long sum = 0;
+        for (Integer value : unrolledList) sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public Integer skipListGet() {
+        return skipList.get(nextPosition());
+    }
+
+    @Benchmark
+    public Integer skipListInsertRemoveMiddle() {
+        int position = nextPosition();
+        skipList.add(position, position);
+        return skipList.remove(position);
+    }
+
+    @Benchmark
+    public Integer itsyBitsyLinkedListInsertRemoveMiddle() {
+        int position = nextPosition();
+        itsyBitsyList.add(position, position);
+        return itsyBitsyList.remove(position);
+    }
+
+    @Benchmark
+    public void itsyBitsyLinkedListChurn(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            itsyBitsyList.addLast(i);
+            blackhole.consume(itsyBitsyList.removeFirst());
+        }
+    }
+
+    @Benchmark
+    public void pooledLinkedListChurn(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            pooledList.addLast(i);
+            blackhole.consume(pooledList.removeFirst());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Each invocation fills a fresh list with "size" values and drains it again,
+ * so the score divided by "size" is the cost of one push plus one pop (or
+ * shift).
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItsyBitsyListBenchmark {
+
+    @Param({ "1000", "100000" })
+    int size;
+
+    Integer[] values;
+
+    @Setup
+    public void setup() {
+        values = BenchmarkKeys.RANDOM.generate(size);
+    }
+
+    @Benchmark
+    public void itsyBitsyListPushPop(Blackhole blackhole) {
+        ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0, 16);
+        for (Integer value : values) list.push(value);
+        for (int i = 0; i < size; i++) blackhole.consume(list.pop());
+    }
+
+    @Benchmark
+    public void arrayListPushPop(Blackhole blackhole) {
+        ArrayList<Integer> list = new ArrayList<>(16);
+        for (Integer value : values) list.add(value);
+        for (int i = size - 1; i >= 0; i--) blackhole.consume(list.remove(i));
+    }
+
+    @Benchmark
+    public void itsyBitsyListPushShift(Blackhole blackhole) {
+        ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0, 16);
+        for (Integer value : values) list.push(value);
+        for (int i = 0; i < size; i++) blackhole.consume(list.shift());
+    }
+
+    @Benchmark
+    public void itsyBitsyListUnshiftShift(Blackhole blackhole) {
+        ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0, 16);
+        for (Integer value : values) list.unshift(value);
+        for (int i = 0; i < size; i++) blackhole.consume(list.shift());
+    }
+
+    @Benchmark
+    public void arrayDequePushShift(Blackhole blackhole) {
+        ArrayDeque<Integer> deque = new ArrayDeque<>(16);
+        for (Integer value : values) deque.addLast(value);
+        for (int i = 0; i < size; i++) blackhole.consume(deque.pollFirst());
+    }
+
+    @Benchmark
+    public void arrayDequeUnshiftShift(Blackhole blackhole) {
+        ArrayDeque<Integer> deque = new ArrayDeque<>(16);
+        for (Integer value : values) deque.addFirst(value);
+        for (int i = 0; i < size; i++) blackhole.consume(deque.pollFirst());
+    }
+}
@@ -0,0 +1,76 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * "fill" enqueues "size" values and then dequeues them all. "steady" keeps the
+ * queue at "size" values and moves one value through it per step, which is
+ * what a busy work queue actually looks like.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItsyBitsyQueueBenchmark {
+
+    @Param({ "1000", "100000" })
+    int size;
+
+    Integer[] values;
+
+    @Setup
+    public void setup() {
+        values = BenchmarkKeys.RANDOM.generate(size);
+    }
+
+    @Benchmark
+    public void itsyBitsyQueueFill(Blackhole blackhole) {
+        ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, 16);
+        for (Integer value : values) queue.enqueue(value);
+        for (int i = 0; i < size; i++) blackhole.consume(queue.dequeue());
+    }
+
+    @Benchmark
+    public void arrayDequeFill(Blackhole blackhole) {
+        ArrayDeque<Integer> queue = new ArrayDeque<>(16);
+        for (Integer value : values) queue.addLast(value);
+        for (int i = 0; i < size; i++) blackhole.consume(queue.pollFirst());
+    }
+
+    @Benchmark
+    public void itsyBitsyQueueSteady(Blackhole blackhole) {
+        ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, size);
+        for (Integer value : values) queue.enqueue(value);
+        for (Integer value : values) {
+            blackhole.consume(queue.dequeue());
+            queue.enqueue(value);
+        }
+    }
+
+    @Benchmark
+    public void arrayDequeSteady(Blackhole blackhole) {
+        ArrayDeque<Integer> queue = new ArrayDeque<>(size);
+        for (Integer value : values) queue.addLast(value);
+        for (Integer value : values) {
+            blackhole.consume(queue.pollFirst());
+            queue.addLast(value);
+        }
+    }
+}
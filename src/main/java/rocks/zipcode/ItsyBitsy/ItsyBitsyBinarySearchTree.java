@@ -144,7 +144,7 @@ public class ItsyBitsyBinarySearchTree<T extends Comparable<T>> {
         if (value.compareTo(current.value) > 0) {
   
           // If `right` does not exist, set it to our node, and stop traversing.
-          if (current.right != null) {
+          if (current.right == null) {
             current.right = node;
             break;
           }
@@ -153,10 +153,10 @@ public class ItsyBitsyBinarySearchTree<T extends Comparable<T>> {
           current = current.right;
   
           // If the value is less than the current.value we move to the left.
-        } else if (value.compareTo(current.value) > 0) {
+        } else if (value.compareTo(current.value) < 0) {
   
           // If `left` does not exist, set it to our node, and stop traversing.
-          if (current.left != null) {
+          if (current.left == null) {
             current.left = node;
             break;
           }
@@ -0,0 +1,134 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.Arrays;
+
+/**
+ * A lot of the time we go looking for something that isn't there. A hash table
+ * can say "no" pretty quickly, but ItsyBitsyGraph has to look at every single
+ * node before it can say "no".
+ *
+ * A "Bloom filter" is a tiny summary of a set that answers one question very
+ * quickly: "is this *definitely not* in the set?"
+ *
+ * It's just a long row of bits, all 0 to start with. To add a value we hash it
+ * a few different ways and set the bit at each of those addresses to 1. To ask
+ * about a value we check the same bits:
+ *
+ *   - if any of them is 0, the value was never added. "Definitely not."
+ *   - if they're all 1, it was *probably* added. Other values may have set
+ *     those same bits, so we still have to go and look for real.
+ *
+ * How often "probably" turns out wrong (the "false positive rate") depends on
+ * how many bits we use for each value. About 10 bits per value gets it down
+ * to 1%, no matter how big the values themselves are.
+ *
+ * We can't take a value out again, because its bits may be shared with other
+ * values. That's fine for keeping a table or graph honest: a stale "probably"
+ * just means we go and look.
+ */
+
+public class ItsyBitsyBloomFilter<T> {
+
+    /**
+     * Checking 7 bits spread over the whole row means 7 trips to 7 different
+     * places in memory. Instead we first pick one "block" of 512 bits (8 longs,
+     * exactly one 64-byte cache line) and put all of a value's bits in there.
+     * One trip to memory per lookup.
+     *
+     * Values aren't spread quite as evenly that way, so we use a few more bits
+     * than a plain Bloom filter would to get the same false positive rate.
+     */
+
+    private static final int blockLongs = 8;
+    private static final int blockBits = blockLongs * 64;
+    private static final double blockOverhead = 1.2;
+
+    private final long[] bits;
+    private final int blocks;
+    private final int hashes;
+
+    public ItsyBitsyBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new Error("Expected insertions must be at least 1: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new Error("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+
+        // The textbook sizes: m = -n ln(p) / ln(2)^2 bits, and k = m/n ln(2) hashes.
+        double bitsPerValue = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long totalBits = (long) Math.ceil(expectedInsertions * bitsPerValue * blockOverhead);
+        long blocks = (totalBits + blockBits - 1) / blockBits;
+        if (blocks > Integer.MAX_VALUE / blockLongs) {
+            throw new Error("Bloom filter is too big");
+        }
+
+        this.blocks = (int) blocks;
+        this.bits = new long[this.blocks * blockLongs];
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round(bitsPerValue * Math.log(2))));
+    }
+
+    /**
+     * One 64-bit hash gives us everything: the top 32 bits pick the block, and
+     * the bottom 32 are split into two halves "h1" and "h2". The "i"th bit
+     * inside the block is then "h1 + i * h2", which is as good as "k"
+     * separately hashed bits.
+     */
+
+    private static long hash(Object value) {
+        long h = value.hashCode() * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private int block(long hash) {
+        // Scales the top 32 bits down to 0 .. blocks-1 without a "%".
+        return (int) (((hash >>> 32) * this.blocks) >>> 32) * blockLongs;
+    }
+
+    /**
+     * Adding is constant O(1) - "AWESOME!!"
+     */
+
+    public void add(T value) {
+        long hash = hash(value);
+        int block = this.block(hash);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 16) | 1;
+
+        for (int i = 0; i < this.hashes; i++) {
+            int bit = (h1 + i * h2) & (blockBits - 1);
+            this.bits[block + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Asking is constant O(1) - "AWESOME!!"
+     */
+
+    public boolean mightContain(T value) {
+        long hash = hash(value);
+        int block = this.block(hash);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 16) | 1;
+
+        for (int i = 0; i < this.hashes; i++) {
+            int bit = (h1 + i * h2) & (blockBits - 1);
+            if ((this.bits[block + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(this.bits, 0);
+    }
+
+    public long bitSize() {
+        return (long) this.bits.length * 64;
+    }
+}
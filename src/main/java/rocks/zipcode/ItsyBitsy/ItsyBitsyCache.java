@@ -0,0 +1,466 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A hash table makes a great "cache": remember the answer to an expensive
+ * question so next time we can just look it up. The trouble is a hash table
+ * never forgets anything, so it keeps growing until we run out of memory.
+ *
+ * A cache has a "maximum size". When it's full and something new comes in,
+ * something old has to go (it gets "evicted"). Which one we pick decides how
+ * often the cache has the answer when we ask (how often we get a "hit").
+ *
+ * We keep two structures side by side:
+ *
+ *   - An ItsyBitsyHashTable from each key to its entry, so finding an entry
+ *     is constant O(1).
+ *   - Doubly linked lists running through the entries themselves, oldest at
+ *     the head and newest at the tail, so moving or evicting an entry is
+ *     constant O(1) too. The entries *are* the list nodes (the list is
+ *     "intrusive"), so there's nothing extra to allocate or find.
+ *
+ *     table:  "a" -> [a]   "b" -> [b]   "c" -> [c]
+ *     list:   head -> [b] <-> [c] <-> [a] <- tail
+ */
+
+public class ItsyBitsyCache<K, V> {
+
+    /**
+     * There are two ways to pick what to evict:
+     *
+     *   - LRU, "least recently used". Every time we use an entry we move it to
+     *     the tail of the list, so the head is whatever we haven't touched for
+     *     the longest. Simple, but one big scan through lots of keys we'll never
+     *     see again flushes out everything useful.
+     *
+     *   - TINY_LFU, "W-TinyLFU". New entries wait in a small LRU "window". When
+     *     they fall out of it they have to win a fight to get into the main
+     *     cache: we compare how often we've seen the newcomer against how often
+     *     we've seen the entry that would be evicted, and the more popular one
+     *     stays. A scan of one-off keys loses every fight and can't push out
+     *     the keys we keep coming back to.
+     */
+
+    public enum Policy { LRU, TINY_LFU }
+
+    static final class Entry<K, V> {
+        final K key;
+        V value;
+        long writeTime;
+        long accessTime;
+        int list;
+        Entry<K, V> prev;
+        Entry<K, V> next;
+
+        Entry(K key, V value, long now) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    /**
+     * One doubly linked list of entries. Because every entry knows its "prev"
+     * and "next", unlinking one from the middle is constant O(1) - "AWESOME!!"
+     */
+
+    static final class RecencyList<K, V> {
+        Entry<K, V> head;
+        Entry<K, V> tail;
+        int length = 0;
+
+        void addLast(Entry<K, V> entry) {
+            entry.prev = this.tail;
+            entry.next = null;
+            if (this.tail == null) {
+                this.head = entry;
+            } else {
+                this.tail.next = entry;
+            }
+            this.tail = entry;
+            this.length++;
+        }
+
+        void remove(Entry<K, V> entry) {
+            if (entry.prev == null) {
+                this.head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                this.tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            this.length--;
+        }
+
+        void moveToLast(Entry<K, V> entry) {
+            if (this.tail != entry) {
+                this.remove(entry);
+                this.addLast(entry);
+            }
+        }
+    }
+
+    /**
+     * To know how often we've seen a key we'd need to remember every key we've
+     * ever seen, which is exactly the problem we're trying to avoid. So we keep
+     * a "count-min sketch" instead: a few rows of tiny counters. Each key bumps
+     * one counter in every row, picked by a different hash per row.
+     *
+     * Different keys share counters, so any one counter can be too high, but
+     * never too low. Taking the smallest of a key's counters gives a pretty
+     * good guess at how often we've seen it.
+     *
+     * Counters stop at 15, and every so often we halve all of them ("aging"),
+     * so keys that were popular a long time ago slowly lose their advantage.
+     */
+
+    static final class FrequencySketch {
+        private static final int depth = 4;
+        private static final int maximumCount = 15;
+        private static final int[] seeds = { 0x97cb3127, 0xb8bc5c3b, 0x6f8e7e35, 0x3c6ef372 };
+
+        private final byte[] counters;
+        private final int widthMask;
+        private final int sampleSize;
+        private int additions = 0;
+
+        FrequencySketch(int maximumSize) {
+            int width = maximumSize <= 8 ? 8 : Integer.highestOneBit(maximumSize - 1) << 1;
+            this.counters = new byte[depth * width];
+            this.widthMask = width - 1;
+            this.sampleSize = 10 * Math.max(maximumSize, 8);
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash ^ seeds[row]) * 0x9e3779b9;
+            return row * (this.widthMask + 1) + ((h ^ (h >>> 16)) & this.widthMask);
+        }
+
+        int frequency(Object key) {
+            int hash = key.hashCode();
+            int frequency = maximumCount;
+            for (int row = 0; row < depth; row++) {
+                frequency = Math.min(frequency, this.counters[this.index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = key.hashCode();
+            for (int row = 0; row < depth; row++) {
+                int index = this.index(hash, row);
+                if (this.counters[index] < maximumCount) {
+                    this.counters[index]++;
+                }
+            }
+            if (++this.additions >= this.sampleSize) {
+                for (int index = 0; index < this.counters.length; index++) {
+                    this.counters[index] >>>= 1;
+                }
+                this.additions /= 2;
+            }
+        }
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final ItsyBitsyHashTable<Object> index;
+    private final RecencyList<K, V> window = new RecencyList<>();
+    private final RecencyList<K, V> probation = new RecencyList<>();
+    private final RecencyList<K, V> protectedList = new RecencyList<>();
+    private final FrequencySketch sketch;
+
+    private final Policy policy;
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int mainMaximum;
+    private final int protectedMaximum;
+
+    private final long expireAfterWrite;
+    private final long expireAfterAccess;
+    private final LongSupplier ticker;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public ItsyBitsyCache(int maximumSize) {
+        this(maximumSize, Policy.TINY_LFU);
+    }
+
+    public ItsyBitsyCache(int maximumSize, Policy policy) {
+        this(maximumSize, policy, null, null);
+    }
+
+    /**
+     * Entries can also "expire": after "expireAfterWrite" since they were last
+     * set, or after "expireAfterAccess" since they were last used. Either can
+     * be null for "never".
+     */
+
+    public ItsyBitsyCache(int maximumSize, Policy policy, Duration expireAfterWrite, Duration expireAfterAccess) {
+        this(maximumSize, policy, expireAfterWrite, expireAfterAccess, System::nanoTime);
+    }
+
+    /**
+     * The "ticker" tells the cache the time in nanoseconds. Tests pass in a
+     * fake one so they don't have to actually wait.
+     */
+
+    public ItsyBitsyCache(int maximumSize, Policy policy, Duration expireAfterWrite, Duration expireAfterAccess, LongSupplier ticker) {
+        if (maximumSize < 1 || maximumSize > 1 << 30) {
+            throw new Error("Maximum size outside of cache range: " + maximumSize);
+        }
+        this.policy = policy;
+        this.maximumSize = maximumSize;
+        this.index = new ItsyBitsyHashTable<>(new Object(), (int) Math.min(maximumSize * 2L, 1 << 30), 0.75, false,
+            ItsyBitsyHashTable.HashStrategy.MURMUR);
+
+        // W-TinyLFU splits its space: 1% for the window, and of the rest 80% is
+        // "protected" (entries used at least twice since they got in) and the
+        // remainder is "probation" (entries that only just got in).
+        this.windowMaximum = policy == Policy.LRU ? 0 : Math.max(maximumSize / 100, maximumSize > 1 ? 1 : 0);
+        this.mainMaximum = maximumSize - this.windowMaximum;
+        this.protectedMaximum = (int) (this.mainMaximum * 0.8);
+        this.sketch = policy == Policy.LRU ? null : new FrequencySketch(maximumSize);
+
+        this.expireAfterWrite = expireAfterWrite == null ? Long.MAX_VALUE : expireAfterWrite.toNanos();
+        this.expireAfterAccess = expireAfterAccess == null ? Long.MAX_VALUE : expireAfterAccess.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * The sketch counts how often each key is *asked for*, hit or miss. This is
+     * the only place it's counted: setting a key after a miss is the same
+     * request, not a second one.
+     *
+     * Cache access is constant O(1) - "AWESOME!!"
+     */
+
+    public V get(K key) {
+        if (this.sketch != null) {
+            this.sketch.increment(key);
+        }
+
+        Entry<K, V> entry = this.lookup(key);
+        if (entry == null) {
+            this.misses++;
+            return null;
+        }
+
+        long now = this.ticker.getAsLong();
+        if (this.isExpired(entry, now)) {
+            this.removeEntry(entry);
+            this.misses++;
+            return null;
+        }
+
+        this.hits++;
+        entry.accessTime = now;
+        this.onAccess(entry);
+        return entry.value;
+    }
+
+    /**
+     * The usual way to use a cache: ask for the key, and only on a miss work
+     * out the value (with "loader") and remember it.
+     */
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = this.get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                this.set(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Cache setting is constant O(1) - "AWESOME!!"
+     */
+
+    public void set(K key, V value) {
+        if (key == null || value == null) {
+            throw new Error("Cache keys and values cannot be null");
+        }
+
+        long now = this.ticker.getAsLong();
+        Entry<K, V> entry = this.lookup(key);
+        if (entry != null) {
+            entry.value = value;
+            entry.writeTime = now;
+            entry.accessTime = now;
+            this.onAccess(entry);
+            return;
+        }
+
+        entry = new Entry<>(key, value, now);
+        this.index.set(key, entry);
+
+        if (this.policy == Policy.LRU) {
+            entry.list = PROBATION;
+            this.probation.addLast(entry);
+            if (this.probation.length > this.maximumSize) {
+                this.evict(this.probation.head);
+            }
+            return;
+        }
+
+        entry.list = WINDOW;
+        this.window.addLast(entry);
+        if (this.window.length > this.windowMaximum) {
+            this.admit(this.window.head);
+        }
+    }
+
+    /**
+     * An entry falling out of the window moves to probation. If the main cache
+     * is now over its size, the newcomer (the "candidate", at the tail of
+     * probation) fights the entry at the head of probation (the "victim"), and
+     * the one we've seen less often is evicted.
+     */
+
+    private void admit(Entry<K, V> candidate) {
+        this.window.remove(candidate);
+        candidate.list = PROBATION;
+        this.probation.addLast(candidate);
+
+        if (this.probation.length + this.protectedList.length <= this.mainMaximum) {
+            return;
+        }
+
+        Entry<K, V> victim = this.probation.head;
+        long now = this.ticker.getAsLong();
+        if (this.isExpired(victim, now)) {
+            this.removeEntry(victim);
+        } else if (this.isExpired(candidate, now)) {
+            this.removeEntry(candidate);
+        } else if (this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key)) {
+            this.evict(victim);
+        } else {
+            this.evict(candidate);
+        }
+    }
+
+    /**
+     * Using an entry moves it to the tail of its list. Under W-TinyLFU, using an
+     * entry on probation promotes it to protected, and if protected is then too
+     * big its oldest entry is demoted back to probation.
+     */
+
+    private void onAccess(Entry<K, V> entry) {
+        switch (entry.list) {
+            case WINDOW:
+                this.window.moveToLast(entry);
+                break;
+            case PROBATION:
+                if (this.policy == Policy.LRU) {
+                    this.probation.moveToLast(entry);
+                    break;
+                }
+                this.probation.remove(entry);
+                entry.list = PROTECTED;
+                this.protectedList.addLast(entry);
+                if (this.protectedList.length > this.protectedMaximum) {
+                    Entry<K, V> demoted = this.protectedList.head;
+                    this.protectedList.remove(demoted);
+                    demoted.list = PROBATION;
+                    this.probation.addLast(demoted);
+                }
+                break;
+            default:
+                this.protectedList.moveToLast(entry);
+        }
+    }
+
+    private boolean isExpired(Entry<K, V> entry, long now) {
+        return now - entry.writeTime >= this.expireAfterWrite
+            || now - entry.accessTime >= this.expireAfterAccess;
+    }
+
+    private void evict(Entry<K, V> entry) {
+        this.removeEntry(entry);
+        this.evictions++;
+    }
+
+    private void removeEntry(Entry<K, V> entry) {
+        this.listOf(entry).remove(entry);
+        this.index.remove(entry.key);
+    }
+
+    private RecencyList<K, V> listOf(Entry<K, V> entry) {
+        return entry.list == WINDOW ? this.window : entry.list == PROBATION ? this.probation : this.protectedList;
+    }
+
+    // The index only knows about plain Objects, but the only thing we ever
+    // put in it are our own Entries.
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> lookup(K key) {
+        return (Entry<K, V>) this.index.get(key);
+    }
+
+    public V remove(K key) {
+        Entry<K, V> entry = this.lookup(key);
+        if (entry == null) {
+            return null;
+        }
+        this.removeEntry(entry);
+        return entry.value;
+    }
+
+    /**
+     * Expired entries are only noticed when we bump into them. "cleanUp" walks
+     * every entry and drops the expired ones, which is linear O(N) - "OKAY."
+     */
+
+    public void cleanUp() {
+        long now = this.ticker.getAsLong();
+        this.cleanUp(this.window, now);
+        this.cleanUp(this.probation, now);
+        this.cleanUp(this.protectedList, now);
+    }
+
+    private void cleanUp(RecencyList<K, V> list, long now) {
+        Entry<K, V> entry = list.head;
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            if (this.isExpired(entry, now)) {
+                this.removeEntry(entry);
+            }
+            entry = next;
+        }
+    }
+
+    public int size() {
+        return this.index.size();
+    }
+
+    int frequency(K key) {
+        return this.sketch == null ? 0 : this.sketch.frequency(key);
+    }
+
+    public long hits() {
+        return this.hits;
+    }
+
+    public long misses() {
+        return this.misses;
+    }
+
+    public long evictions() {
+        return this.evictions;
+    }
+}
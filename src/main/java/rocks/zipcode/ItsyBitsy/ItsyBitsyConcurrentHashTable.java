@@ -0,0 +1,405 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ItsyBitsyHashTable moves keys around when it inserts, removes and resizes,
+ * so a thread reading it while another thread writes can see a key in the
+ * middle of moving, or not at all.
+ *
+ * This table is built to be shared. It has the same get/set/remove as
+ * ItsyBitsyHashTable, but:
+ *
+ *   - Reads never lock. They can run on every core at once.
+ *   - Writes only lock the one "bin" they are changing, so writers to
+ *     different bins never wait for each other.
+ *   - Growing the table is shared out: any writer that bumps into a resize
+ *     moves a chunk of bins before carrying on.
+ *
+ * To make that work each address in memory holds a "bin", a short chain of
+ * nodes (a tiny linked list) instead of a single key. Nodes never move once
+ * they're in a chain, so a reader walking a chain always sees a sensible one.
+ */
+
+public class ItsyBitsyConcurrentHashTable<K, V> {
+
+    static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    // There's no such thing as a "new Node<K, V>[]" in Java, so we make a raw
+    // one. It starts out empty and only ever gets our own Nodes put in it.
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <K, V> Node<K, V>[] table(int length) {
+        return (Node<K, V>[]) new Node[length];
+    }
+
+    /**
+     * While the table grows, every bin that has already been moved is replaced
+     * by a "forwarding" node that says "look in the new table instead".
+     */
+
+    static final int MOVED = -1;
+
+    static final class Forwarding<K, V> extends Node<K, V> {
+        final Resize<K, V> resize;
+
+        Forwarding(Resize<K, V> resize) {
+            super(MOVED, null, null, null);
+            this.resize = resize;
+        }
+    }
+
+    /**
+     * Everything about one resize in one place, so a thread that shows up late
+     * can never mix up the tables of two different resizes.
+     */
+
+    static final class Resize<K, V> {
+        final Node<K, V>[] from;
+        final Node<K, V>[] to;
+        final Forwarding<K, V> forwarding;
+        // Bins are handed out from the top down, "stride" at a time.
+        final AtomicInteger transferIndex;
+        final AtomicInteger binsMoved = new AtomicInteger();
+
+        Resize(Node<K, V>[] from) {
+            this.from = from;
+            this.to = table(from.length * 2);
+            this.forwarding = new Forwarding<>(this);
+            this.transferIndex = new AtomicInteger(from.length);
+        }
+    }
+
+    private volatile Node<K, V>[] table;
+    private volatile Resize<K, V> resize;
+    private volatile int threshold;
+    private final LongAdder count = new LongAdder();
+
+    private static final int sizeCheckOdds = 64;
+
+    private static final int initialCapacity = 1024;
+    private static final int maximumCapacity = 1 << 30;
+    private static final int stride = 64;
+
+    private static final VarHandle BIN = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle TABLE;
+    private static final VarHandle RESIZE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TABLE = lookup.findVarHandle(ItsyBitsyConcurrentHashTable.class, "table", Node[].class);
+            RESIZE = lookup.findVarHandle(ItsyBitsyConcurrentHashTable.class, "resize", Resize.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public ItsyBitsyConcurrentHashTable() {
+        this(initialCapacity);
+    }
+
+    public ItsyBitsyConcurrentHashTable(int capacity) {
+        if (capacity < 0 || capacity > maximumCapacity) {
+            throw new Error("Capacity outside of hash table range: " + capacity);
+        }
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        table = table(size);
+        threshold = size - (size >>> 2);
+    }
+
+    /**
+     * Hashes are kept positive so that they can never be mistaken for MOVED.
+     */
+
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & 0x7fffffff;
+    }
+
+    /**
+     * Reading a bin uses an "acquire" read. Anything the writer did before it
+     * published the bin (with a "release" write) is guaranteed to be visible
+     * to us, without either side taking a lock.
+     */
+
+    static <K, V> Node<K, V> binAt(Node<K, V>[] table, int address) {
+        return (Node<K, V>) BIN.getAcquire(table, address);
+    }
+
+    static <K, V> void setBin(Node<K, V>[] table, int address, Node<K, V> node) {
+        BIN.setRelease(table, address, node);
+    }
+
+    static <K, V> boolean casBin(Node<K, V>[] table, int address, Node<K, V> expected, Node<K, V> node) {
+        return BIN.compareAndSet(table, address, expected, node);
+    }
+
+    /**
+     * Reads just walk the chain, following a forwarding node into the new
+     * table if the bin has already moved.
+     *
+     * HashTable access is constant O(1) - "AWESOME!!"
+     */
+
+    public V get(K key) {
+        int hash = hash(key);
+        Node<K, V>[] table = this.table;
+
+        while (true) {
+            Node<K, V> node = binAt(table, hash & (table.length - 1));
+            if (node instanceof Forwarding) {
+                table = ((Forwarding<K, V>) node).resize.to;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.hash == hash && key.equals(node.key)) {
+                    return node.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Setting into an empty bin needs no lock at all, we just compare-and-set
+     * the new node in. Otherwise we lock the first node of the bin, which only
+     * blocks writers to this one bin.
+     *
+     * HashTable setting is constant O(1) "amortized" - "AWESOME!!"
+     */
+
+    public V set(K key, V value) {
+        if (key == null || value == null) {
+            throw new Error("Concurrent hash table keys and values cannot be null");
+        }
+
+        int hash = hash(key);
+        Node<K, V>[] table = this.table;
+        boolean collided = false;
+
+        while (true) {
+            int address = hash & (table.length - 1);
+            Node<K, V> first = binAt(table, address);
+
+            if (first == null) {
+                if (casBin(table, address, null, new Node<>(hash, key, value, null))) {
+                    break;
+                }
+            } else if (first instanceof Forwarding) {
+                table = this.help(((Forwarding<K, V>) first).resize);
+            } else {
+                synchronized (first) {
+                    // Someone may have changed the bin before we got the lock.
+                    if (binAt(table, address) != first) {
+                        continue;
+                    }
+
+                    Node<K, V> node = first;
+                    while (true) {
+                        if (node.hash == hash && key.equals(node.key)) {
+                            V previous = node.value;
+                            node.value = value;
+                            return previous;
+                        }
+                        if (node.next == null) {
+                            node.next = new Node<>(hash, key, value, null);
+                            collided = true;
+                            break;
+                        }
+                        node = node.next;
+                    }
+                }
+                break;
+            }
+        }
+
+        // "sum" has to visit every one of the LongAdder's counters, and doing
+        // that on every set would undo the point of splitting them up. So we
+        // only check when the new key had to share a bin, which is when a
+        // filling table starts to hurt, and now and then at random otherwise.
+        this.count.increment();
+        if ((collided || ThreadLocalRandom.current().nextInt(sizeCheckOdds) == 0)
+                && this.count.sum() >= this.threshold) {
+            this.startResize();
+        }
+        return null;
+    }
+
+    /**
+     * Removing locks the bin the same way and unlinks the node. A reader that
+     * is standing on the removed node can still follow its "next" and finish
+     * its walk.
+     */
+
+    public V remove(K key) {
+        int hash = hash(key);
+        Node<K, V>[] table = this.table;
+
+        while (true) {
+            int address = hash & (table.length - 1);
+            Node<K, V> first = binAt(table, address);
+
+            if (first == null) {
+                return null;
+            } else if (first instanceof Forwarding) {
+                table = this.help(((Forwarding<K, V>) first).resize);
+            } else {
+                synchronized (first) {
+                    if (binAt(table, address) != first) {
+                        continue;
+                    }
+
+                    Node<K, V> previous = null;
+                    for (Node<K, V> node = first; node != null; previous = node, node = node.next) {
+                        if (node.hash == hash && key.equals(node.key)) {
+                            if (previous == null) {
+                                setBin(table, address, node.next);
+                            } else {
+                                previous.next = node.next;
+                            }
+                            this.count.decrement();
+                            return node.value;
+                        }
+                    }
+                    return null;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, this.count.sum()));
+    }
+
+    int capacity() {
+        return this.table.length;
+    }
+
+    /**
+     * Whoever notices the table is too full first sets up the resize. Anyone
+     * else who notices joins in.
+     */
+
+    private void startResize() {
+        Resize<K, V> current = this.resize;
+        if (current != null) {
+            this.help(current);
+            return;
+        }
+
+        Node<K, V>[] table = this.table;
+        if (table.length >= maximumCapacity) {
+            return;
+        }
+
+        Resize<K, V> fresh = new Resize<>(table);
+        if (RESIZE.compareAndSet(this, null, fresh)) {
+            // Another resize may have finished between reading "table" and
+            // claiming the slot. Then there's nothing to do.
+            if (this.table != table) {
+                RESIZE.compareAndSet(this, fresh, null);
+                return;
+            }
+            this.help(fresh);
+        }
+    }
+
+    /**
+     * Claim "stride" bins at a time and move them until none are left. The
+     * thread that moves the last bin swaps the new table in.
+     */
+
+    private Node<K, V>[] help(Resize<K, V> resize) {
+        while (true) {
+            int high = resize.transferIndex.get();
+            if (high <= 0) {
+                break;
+            }
+            int low = Math.max(0, high - stride);
+            if (!resize.transferIndex.compareAndSet(high, low)) {
+                continue;
+            }
+
+            for (int address = high - 1; address >= low; address--) {
+                this.moveBin(resize, address);
+            }
+
+            if (resize.binsMoved.addAndGet(high - low) == resize.from.length) {
+                if (TABLE.compareAndSet(this, resize.from, resize.to)) {
+                    this.threshold = resize.to.length - (resize.to.length >>> 2);
+                }
+                RESIZE.compareAndSet(this, resize, null);
+            }
+        }
+        return resize.to;
+    }
+
+    /**
+     * Because the new table is twice as big, every key in bin "i" lands in
+     * either bin "i" or bin "i + n" of the new table, depending on one more bit
+     * of its hash. We copy the chain into those two new bins and then leave a
+     * forwarding node behind.
+     */
+
+    private void moveBin(Resize<K, V> resize, int address) {
+        Node<K, V>[] from = resize.from;
+        Node<K, V>[] to = resize.to;
+        int n = from.length;
+
+        while (true) {
+            Node<K, V> first = binAt(from, address);
+
+            if (first == null) {
+                if (casBin(from, address, null, resize.forwarding)) {
+                    return;
+                }
+                continue;
+            }
+            if (first instanceof Forwarding) {
+                return;
+            }
+
+            synchronized (first) {
+                if (binAt(from, address) != first) {
+                    continue;
+                }
+
+                Node<K, V> low = null;
+                Node<K, V> high = null;
+                for (Node<K, V> node = first; node != null; node = node.next) {
+                    if ((node.hash & n) == 0) {
+                        low = new Node<>(node.hash, node.key, node.value, low);
+                    } else {
+                        high = new Node<>(node.hash, node.key, node.value, high);
+                    }
+                }
+                setBin(to, address, low);
+                setBin(to, address + n, high);
+                setBin(from, address, resize.forwarding);
+                return;
+            }
+        }
+    }
+}
+
+/**
+ * Copying nodes while moving a bin (instead of relinking them) is what keeps
+ * readers safe: a reader halfway down an old chain keeps walking nodes that
+ * nobody changes, while new readers already see the new table.
+ */
@@ -0,0 +1,318 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ItsyBitsyQueue is fast, but it assumes only one thread is ever touching it.
+ * If two threads enqueue at the same time they can both write to the same
+ * tail address and one of the values just disappears.
+ *
+ * The easy fix is to wrap every call in a lock, but then all of our threads
+ * line up behind each other waiting for their turn, no matter how many cores
+ * we have.
+ *
+ * So instead we're going to build a queue that many threads can enqueue into
+ * and dequeue from at the same time without ever taking a lock. It is still a
+ * ring of memory like ItsyBitsyQueue, except this ring has a fixed size.
+ */
+
+public class ItsyBitsyConcurrentQueue<T> {
+
+    /**
+     * The trick is that every slot in the ring gets its own "sequence" number
+     * that says what the slot is waiting for.
+     *
+     *   - sequence == position       the slot is empty and the producer that
+     *                                claims "position" may fill it.
+     *   - sequence == position + 1   the slot is full and the consumer that
+     *                                claims "position" may empty it.
+     *
+     * Positions just keep counting up forever, and "position & mask" tells us
+     * which slot they land on. When a consumer empties a slot it bumps the
+     * sequence a whole lap ahead (position + capacity) so that the producer on
+     * the next lap around the ring knows it is its turn.
+     *
+     *   positions:  0  1  2  3 | 4  5  6  7 | ...
+     *   slots:      0  1  2  3 | 0  1  2  3 | ...
+     *
+     * Producers and consumers only ever fight over who gets to move "tail" or
+     * "head" forward by one, and they do that with a single compare-and-set.
+     */
+
+    private final Object[] memory;
+    private final long[] sequences;
+    private final int mask;
+
+    private final PaddedPosition head = new PaddedPosition();
+    private final PaddedPosition tail = new PaddedPosition();
+
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private static final int defaultCapacity = 1024;
+    private static final int maximumCapacity = 1 << 30;
+
+    public ItsyBitsyConcurrentQueue() {
+        this(defaultCapacity);
+    }
+
+    public ItsyBitsyConcurrentQueue(int capacity) {
+        if (capacity < 1 || capacity > maximumCapacity) {
+            throw new Error("Capacity outside of queue range: " + capacity);
+        }
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        memory = new Object[size];
+        sequences = new long[size];
+        mask = size - 1;
+
+        // Every slot starts off empty and waiting for the producer of its
+        // first lap.
+        for (int address = 0; address < size; address++) {
+            sequences[address] = address;
+        }
+        VarHandle.releaseFence();
+    }
+
+    /**
+     * "offer" tries to add a value and tells us whether it worked. It never
+     * waits, if the ring is full it just returns false.
+     */
+
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new Error("Cannot enqueue null");
+        }
+
+        long position = this.tail.get();
+        int address;
+
+        while (true) {
+            address = (int) position & this.mask;
+            long sequence = (long) SEQUENCE.getAcquire(this.sequences, address);
+            long difference = sequence - position;
+
+            if (difference == 0) {
+                // The slot is empty and waiting for us, try to claim it.
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                // The slot still holds a value from the previous lap, so the
+                // ring is full.
+                return false;
+            } else {
+                // Someone else claimed this position first, catch up.
+                position = this.tail.get();
+            }
+        }
+
+        // The slot is ours. Fill it and then tell the consumer it is ready.
+        this.memory[address] = value;
+        SEQUENCE.setRelease(this.sequences, address, position + 1);
+        return true;
+    }
+
+    /**
+     * "poll" is the mirror image. It takes the oldest value, or returns null
+     * straight away if there isn't one.
+     */
+
+    public T poll() {
+        long position = this.head.get();
+        int address;
+
+        while (true) {
+            address = (int) position & this.mask;
+            long sequence = (long) SEQUENCE.getAcquire(this.sequences, address);
+            long difference = sequence - (position + 1);
+
+            if (difference == 0) {
+                // The slot is full and waiting for us, try to claim it.
+                if (this.head.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = this.head.get();
+            } else if (difference < 0) {
+                // Nobody has filled this slot yet, so the ring is empty.
+                return null;
+            } else {
+                position = this.head.get();
+            }
+        }
+
+        // Take the value, stop storing it, and hand the slot to the producer
+        // on the next lap.
+        T value = this.asValue(this.memory[address]);
+        ELEMENT.setOpaque(this.memory, address, null);
+        SEQUENCE.setRelease(this.sequences, address, position + this.mask + 1);
+        return value;
+    }
+
+    /**
+     * We keep the same "enqueue", "dequeue" and "peek" as ItsyBitsyQueue.
+     * Because this ring can't grow, "enqueue" freaks out if it is full.
+     */
+
+    public void enqueue(T value) {
+        if (!this.offer(value)) {
+            throw new Error("Queue is full");
+        }
+    }
+
+    public T dequeue() {
+        return this.poll();
+    }
+
+    /**
+     * Peeking has to be careful, by the time we read the oldest slot a
+     * consumer may already have taken it. If that happens we just look again.
+     */
+
+    public T peek() {
+        while (true) {
+            long position = this.head.get();
+            int address = (int) position & this.mask;
+            long sequence = (long) SEQUENCE.getAcquire(this.sequences, address);
+
+            if (sequence - (position + 1) < 0) {
+                return null;
+            }
+
+            Object value = ELEMENT.getAcquire(this.memory, address);
+            if (value != null && sequence == position + 1 && this.head.get() == position) {
+                return this.asValue(value);
+            }
+        }
+    }
+
+    // "memory" is an Object[] because the VarHandle needs a real array type,
+    // but only "offer" ever writes to it, and it only writes values.
+    @SuppressWarnings("unchecked")
+    private T asValue(Object value) {
+        return (T) value;
+    }
+
+    /**
+     * Sometimes we'd rather wait for room (or for a value) than give up. We
+     * spin for a little while first because the other side is usually only a
+     * moment away, then we park the thread for longer and longer naps.
+     *
+     * Parking rather than holding a lock means a waiting virtual thread gets
+     * out of the way of its carrier thread instead of pinning it.
+     */
+
+    public void put(T value) throws InterruptedException {
+        for (int attempt = 0; !this.offer(value); attempt++) {
+            backOff(attempt);
+        }
+    }
+
+    public T take() throws InterruptedException {
+        T value;
+        for (int attempt = 0; (value = this.poll()) == null; attempt++) {
+            backOff(attempt);
+        }
+        return value;
+    }
+
+    public boolean offer(T value, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !this.offer(value); attempt++) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            backOff(attempt);
+        }
+        return true;
+    }
+
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        T value;
+        for (int attempt = 0; (value = this.poll()) == null; attempt++) {
+            if (deadline - System.nanoTime() <= 0) {
+                return null;
+            }
+            backOff(attempt);
+        }
+        return value;
+    }
+
+    private static void backOff(int attempt) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (attempt < 64) {
+            Thread.onSpinWait();
+        } else {
+            // 1µs, 2µs, 4µs, ... up to about 1ms.
+            LockSupport.parkNanos(1000L << Math.min(attempt - 64, 10));
+        }
+    }
+
+    /**
+     * How many values are in the queue right now. With other threads busy this
+     * is only ever a snapshot.
+     */
+
+    public int size() {
+        while (true) {
+            long before = this.head.get();
+            long tail = this.tail.get();
+            if (this.head.get() == before) {
+                return (int) Math.max(0, Math.min(tail - before, this.memory.length));
+            }
+        }
+    }
+
+    public int capacity() {
+        return this.memory.length;
+    }
+
+    /**
+     * "head" and "tail" are written constantly by different threads. If they
+     * sat next to each other in memory they would share a cache line, and
+     * every write to one would knock the other out of every other core's
+     * cache. Surrounding each of them with unused longs keeps them apart.
+     */
+
+    static class LeftPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    static class PositionValue extends LeftPadding {
+        volatile long value;
+    }
+
+    static final class PaddedPosition extends PositionValue {
+        long p11, p12, p13, p14, p15, p16, p17;
+
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(PositionValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long get() {
+            return this.value;
+        }
+
+        boolean compareAndSet(long expected, long next) {
+            return VALUE.compareAndSet(this, expected, next);
+        }
+    }
+}
+
+/**
+ * Because nothing ever locks, a thread that gets paused in the middle of an
+ * operation can't stop the others from making progress on the rest of the
+ * ring. That is what lets throughput keep climbing as you add cores.
+ */
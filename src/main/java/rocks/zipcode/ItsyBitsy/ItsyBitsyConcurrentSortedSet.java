@@ -0,0 +1,233 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * A sorted linked list that many threads can add to and remove from at the
+ * same time, without any locks. It's a set: every value is in it at most once.
+ *
+ *     head → 2 → 5 → 9 → 12
+ *
+ * Adding is like ItsyBitsyConcurrentStack: find the two nodes the new value
+ * goes between, point the new node at the second, and compare-and-set the
+ * first one's "next" to the new node. If another thread changed that "next"
+ * in the meantime, try again.
+ *
+ * Removing is the hard part. Say one thread removes 5 (by pointing 2 at 9)
+ * while another adds 7 (by pointing 5 at 7). Both compare-and-sets succeed,
+ * and 7 is lost, hanging off a node that's no longer in the list.
+ *
+ * The fix (by Tim Harris, tidied up by Maged Michael) is to remove in two
+ * steps:
+ *
+ *   1. "Mark" the node's own "next". A marked node is logically gone, and
+ *      because every change compares the mark too, nobody can add after it
+ *      any more. Whoever marks it first has removed the value.
+ *   2. Unlink it from the node before it. If that fails it doesn't matter,
+ *      whichever thread walks past it next unlinks it for us.
+ *
+ * The mark sits right next to the "next" pointer in an AtomicMarkableReference,
+ * so we can compare-and-set both of them in one go.
+ */
+
+public class ItsyBitsyConcurrentSortedSet<T> implements Iterable<T> {
+
+    static final class Node<T> {
+        final T value;
+        final AtomicMarkableReference<Node<T>> next;
+
+        Node(T value, Node<T> next) {
+            this.value = value;
+            this.next = new AtomicMarkableReference<>(next, false);
+        }
+    }
+
+    // "head" holds no value, it's just always there to point at the first node.
+    private final Node<T> head = new Node<>(null, null);
+    private final Comparator<? super T> comparator;
+
+    public ItsyBitsyConcurrentSortedSet() {
+        this(ItsyBitsyConcurrentSortedSet::naturalOrder);
+    }
+
+    public ItsyBitsyConcurrentSortedSet(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    // Without a comparator we trust the values to be Comparable, the same way
+    // TreeSet does. If they aren't, the first compare throws.
+    @SuppressWarnings("unchecked")
+    private static <T> int naturalOrder(T a, T b) {
+        return ((Comparable<? super T>) a).compareTo(b);
+    }
+
+    /**
+     * "find" walks to the first node whose value is not smaller than "value"
+     * ("current"), remembering the node before it ("previous"). Any marked
+     * nodes it passes on the way get unlinked.
+     */
+
+    static final class Window<T> {
+        final Node<T> previous;
+        final Node<T> current;
+
+        Window(Node<T> previous, Node<T> current) {
+            this.previous = previous;
+            this.current = current;
+        }
+    }
+
+    private Window<T> find(T value) {
+        boolean[] marked = { false };
+
+        retry:
+        while (true) {
+            Node<T> previous = this.head;
+            Node<T> current = previous.next.getReference();
+
+            while (current != null) {
+                Node<T> next = current.next.get(marked);
+                if (marked[0]) {
+                    // "current" was removed, help unlink it. If "previous" changed
+                    // under us (or was removed itself), start over from the head.
+                    if (!previous.next.compareAndSet(current, next, false, false)) {
+                        continue retry;
+                    }
+                    current = next;
+                    continue;
+                }
+                if (this.comparator.compare(current.value, value) >= 0) {
+                    break;
+                }
+                previous = current;
+                current = next;
+            }
+            return new Window<>(previous, current);
+        }
+    }
+
+    /**
+     * Returns false if the value was already in the set.
+     *
+     * Adding is linear O(N) - "OKAY."
+     */
+
+    public boolean add(T value) {
+        if (value == null) {
+            throw new Error("Sorted set values cannot be null");
+        }
+
+        while (true) {
+            Window<T> window = this.find(value);
+            Node<T> current = window.current;
+            if (current != null && this.comparator.compare(current.value, value) == 0) {
+                return false;
+            }
+
+            Node<T> node = new Node<>(value, current);
+            if (window.previous.next.compareAndSet(current, node, false, false)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns false if the value wasn't in the set.
+     *
+     * Removing is linear O(N) - "OKAY."
+     */
+
+    public boolean remove(T value) {
+        while (true) {
+            Window<T> window = this.find(value);
+            Node<T> current = window.current;
+            if (current == null || this.comparator.compare(current.value, value) != 0) {
+                return false;
+            }
+
+            // Step 1: mark it. If its "next" changed (or someone else marked it)
+            // first, look again.
+            Node<T> next = current.next.getReference();
+            if (!current.next.compareAndSet(next, next, false, true)) {
+                continue;
+            }
+
+            // Step 2: try to unlink it. If that fails, "find" will do it later.
+            window.previous.next.compareAndSet(current, next, false, false);
+            return true;
+        }
+    }
+
+    /**
+     * "contains" never changes anything and never starts over, it just walks
+     * the list (marked nodes and all) and checks the mark of the node it lands
+     * on. So it always finishes in a bounded number of steps no matter what
+     * other threads are doing. That's called "wait-free".
+     *
+     * Searching is linear O(N) - "OKAY."
+     */
+
+    public boolean contains(T value) {
+        Node<T> current = this.head.next.getReference();
+        while (current != null && this.comparator.compare(current.value, value) < 0) {
+            current = current.next.getReference();
+        }
+        return current != null
+            && this.comparator.compare(current.value, value) == 0
+            && !current.next.isMarked();
+    }
+
+    /**
+     * Counts the values by walking the list. While other threads are busy the
+     * answer may already be out of date by the time we return it.
+     */
+
+    public int size() {
+        int size = 0;
+        for (T ignored : this) {
+            size++;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return !this.iterator().hasNext();
+    }
+
+    /**
+     * Walking the set while other threads change it is safe: nodes are never
+     * reused and a removed node still points onwards, so we never get lost or
+     * see anything twice. Values come out in order, skipping removed ones. A
+     * value added or removed while we walk may or may not show up.
+     */
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Node<T> next = this.skipRemoved(ItsyBitsyConcurrentSortedSet.this.head.next.getReference());
+
+            private Node<T> skipRemoved(Node<T> node) {
+                while (node != null && node.next.isMarked()) {
+                    node = node.next.getReference();
+                }
+                return node;
+            }
+
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            public T next() {
+                if (this.next == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = this.next.value;
+                this.next = this.skipRemoved(this.next.next.getReference());
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Just like ItsyBitsyQueue, ItsyBitsyStack falls apart as soon as two threads
+ * push or pop at the same time. So let's build a stack that many threads can
+ * share without a lock.
+ *
+ * Instead of a list, this stack is a chain of nodes (like the linked list we
+ * will see later) and we only keep track of the node on "top".
+ *
+ *     top → c → b → a
+ *
+ * To push we make a new node pointing at the current top, and then swap it in
+ * as the new top with a compare-and-set. If someone else changed the top in
+ * the meantime the swap fails and we simply try again. Popping works the same
+ * way. This is known as a "Treiber stack".
+ */
+
+public class ItsyBitsyConcurrentStack<T> {
+
+    static final class Node<T> {
+        final T value;
+        Node<T> next;
+
+        Node(T v) {
+            value = v;
+        }
+    }
+
+    private final AtomicReference<Node<T>> top = new AtomicReference<>();
+
+    /**
+     * When lots of threads hammer the stack they all fight over "top", and
+     * most of their compare-and-sets fail. But notice that a push and a pop
+     * that happen at the same time cancel each other out: the popper can take
+     * the pusher's value directly and the stack never has to change at all.
+     *
+     * So when a thread loses a fight over "top" it goes and waits for a moment
+     * in a random slot of an "elimination array". A pusher leaves its node in
+     * the slot, and a popper that wanders by takes it. Both leave happy without
+     * ever touching "top".
+     */
+
+    private final AtomicReferenceArray<Node<T>> elimination;
+
+    private static final int eliminationSpins = 64;
+
+    public ItsyBitsyConcurrentStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public ItsyBitsyConcurrentStack(int eliminationSlots) {
+        if (eliminationSlots < 1) {
+            throw new Error("Need at least one elimination slot: " + eliminationSlots);
+        }
+        elimination = new AtomicReferenceArray<>(eliminationSlots);
+    }
+
+    /**
+     * Push to add items to the top of the stack.
+     */
+
+    public void push(T value) {
+        Node<T> node = new Node<>(value);
+
+        while (true) {
+            // Try the normal way first.
+            Node<T> current = this.top.get();
+            node.next = current;
+            if (this.top.compareAndSet(current, node)) {
+                return;
+            }
+
+            // We lost the race, see if a popper wants our value instead.
+            if (this.offerToPopper(node)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * And pop to remove items from the top of the stack.
+     */
+
+    public T pop() {
+        while (true) {
+            Node<T> current = this.top.get();
+
+            // Don't do anything if we don't have any items.
+            if (current == null) return null;
+
+            if (this.top.compareAndSet(current, current.next)) {
+                return current.value;
+            }
+
+            // We lost the race, see if a pusher is waiting to hand us a value.
+            Node<T> node = this.takeFromPusher();
+            if (node != null) {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * Peeking never changes anything so it can just look at the top.
+     */
+
+    public T peek() {
+        Node<T> current = this.top.get();
+        return current == null ? null : current.value;
+    }
+
+    public boolean isEmpty() {
+        return this.top.get() == null;
+    }
+
+    /**
+     * A pusher leaves its node in an empty slot and waits a little while. If
+     * the node is gone when it comes back, a popper took it. If it is still
+     * there the pusher takes it back, and because taking it back is also a
+     * compare-and-set, exactly one of the two of them can win.
+     */
+
+    private boolean offerToPopper(Node<T> node) {
+        int slot = ThreadLocalRandom.current().nextInt(this.elimination.length());
+        if (!this.elimination.compareAndSet(slot, null, node)) {
+            return false;
+        }
+
+        for (int spin = 0; spin < eliminationSpins; spin++) {
+            if (this.elimination.get(slot) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+
+        // Nobody came. If we can't take our node back it was taken just now.
+        return !this.elimination.compareAndSet(slot, node, null);
+    }
+
+    /**
+     * A popper takes whatever node it finds waiting in a random slot.
+     */
+
+    private Node<T> takeFromPusher() {
+        int slot = ThreadLocalRandom.current().nextInt(this.elimination.length());
+
+        for (int spin = 0; spin < eliminationSpins; spin++) {
+            Node<T> node = this.elimination.get(slot);
+            if (node != null && this.elimination.compareAndSet(slot, node, null)) {
+                return node;
+            }
+            Thread.onSpinWait();
+        }
+        return null;
+    }
+}
+
+/**
+ * Under light load nobody ever loses a race and the elimination array is never
+ * used. Under heavy load more and more pushes and pops pair off in the array,
+ * so adding threads adds throughput instead of just adding contention on
+ * "top".
+ */
@@ -0,0 +1,131 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.Arrays;
+
+/**
+ * ItsyBitsyList can hold any kind of value, but that comes at a price. Java
+ * can only put objects in a generic array, so every double we push (a
+ * measurement, a price, a coordinate) gets wrapped up ("boxed") in its own
+ * little Double object somewhere else in memory, and the list only holds a
+ * reference to it.
+ *
+ * Adding up a list of boxed Doubles means chasing a reference for every
+ * single value. A double[] keeps the raw values side by side, so summing
+ * them is just reading straight through memory.
+ *
+ * Everything else works exactly like ItsyBitsyList.
+ */
+
+class ItsyBitsyDoubleList {
+
+  protected double[] memory;
+  protected int length = 0;
+
+  private static final int initialCapacity = 1024;
+  private static final double defaultGrowthFactor = 1.5;
+
+  private final double growthFactor;
+
+  public ItsyBitsyDoubleList() {
+    this(initialCapacity);
+  }
+
+  public ItsyBitsyDoubleList(int capacity) {
+    this(capacity, defaultGrowthFactor);
+  }
+
+  public ItsyBitsyDoubleList(int capacity, double growthFactor) {
+    if (capacity < 0) {
+      throw new Error("Capacity must not be negative: " + capacity);
+    }
+    if (!(growthFactor > 1.0)) {
+      throw new Error("Growth factor must be greater than 1: " + growthFactor);
+    }
+    memory = new double[capacity];
+    this.growthFactor = growthFactor;
+  }
+
+  /**
+   * Grow the block geometrically, just like ItsyBitsyList.
+   */
+
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > this.memory.length) {
+      int grown = (int) Math.min(Integer.MAX_VALUE - 8, (long) (this.memory.length * this.growthFactor) + 1);
+      this.memory = Arrays.copyOf(this.memory, Math.max(minCapacity, grown));
+    }
+  }
+
+  public void trimToSize() {
+    if (this.length < this.memory.length) {
+      this.memory = Arrays.copyOf(this.memory, this.length);
+    }
+  }
+
+  /**
+   * List access is constant O(1) - "AWESOME!!"
+   */
+
+  public double get(int address) {
+    if (address < 0 || address >= this.length) {
+      throw new Error("Address outside of list range");
+    }
+    return this.memory[address];
+  }
+
+  /**
+   * Pushing an item to the end of a list is constant O(1) - "AWESOME!!"
+   */
+
+  public void push(double value) {
+    this.ensureCapacity(this.length + 1);
+    this.memory[this.length] = value;
+    this.length++;
+  }
+
+  /**
+   * There is no "null" for a double, so we can't quietly return nothing when
+   * the list is empty. Instead we freak out.
+   *
+   * Popping an item from the end of a list is constant O(1) - "AWESOME!!"
+   */
+
+  public double pop() {
+    if (this.length == 0) {
+      throw new Error("Popping from empty list");
+    }
+
+    this.length--;
+    return this.memory[this.length];
+  }
+
+  /**
+   * Unshifting still has to slide every value over by one, but the JVM can do
+   * that for a raw double[] with a single block copy.
+   *
+   * Unshifting an item to the start of a list is linear O(N) - "OKAY."
+   */
+
+  public void unshift(double value) {
+    this.ensureCapacity(this.length + 1);
+    System.arraycopy(this.memory, 0, this.memory, 1, this.length);
+    this.memory[0] = value;
+    this.length++;
+  }
+
+  /**
+   * Shifting an item from the start of a list is linear O(N) - "OKAY."
+   */
+
+  public double shift() {
+    if (this.length == 0) {
+      throw new Error("Shifting from empty list");
+    }
+
+    double value = this.memory[0];
+    System.arraycopy(this.memory, 1, this.memory, 0, this.length - 1);
+    this.length--;
+
+    return value;
+  }
+}
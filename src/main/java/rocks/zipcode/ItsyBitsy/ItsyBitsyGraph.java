@@ -85,10 +85,24 @@ public class ItsyBitsyGraph<T> {
      * way to store references to everything.
      */
     ArrayList<Node> nodes;
+
+    /**
+     * Searching all of the nodes is slowest when the value isn't there at all.
+     * An optional Bloom filter (see ItsyBitsyBloomFilter) of every value we've
+     * added lets "find" give up straight away for most of those.
+     */
+    ItsyBitsyBloomFilter<T> filter;
   
     public ItsyBitsyGraph() {
       this.nodes = new ArrayList<>();
     }
+
+    public void useBloomFilter(long expectedInsertions, double falsePositiveRate) {
+      this.filter = new ItsyBitsyBloomFilter<>(expectedInsertions, falsePositiveRate);
+      for (Node n : this.nodes) {
+        if (n.value != null) { this.filter.add(n.value); }
+      }
+    }
   
     /**
      * We can start to add values to our graph by creating nodes without any
@@ -97,6 +111,9 @@ public class ItsyBitsyGraph<T> {
   
     public void addNode(T value) {
         this.nodes.add(new Node(value));
+        if (this.filter != null && value != null) {
+            this.filter.add(value);
+        }
     }
   
     /**
@@ -110,6 +127,11 @@ public class ItsyBitsyGraph<T> {
      */
   
     public Node find(T value) {
+      // "find" matches with ==, but two values that are == always have the same
+      // hashCode, so a "definitely not" from the filter is still right.
+      if (this.filter != null && value != null && !this.filter.mightContain(value)) {
+        return null;
+      }
       for (Node n : this.nodes) {
         if (n.value == value) { return n; }
       }
@@ -1,8 +1,17 @@
 package rocks.zipcode.ItsyBitsy;
 
 import java.lang.reflect.Array;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class ItsyBitsyHashTable<T> {
+public class ItsyBitsyHashTable<T> implements Iterable<Map.Entry<T, T>> {
 
     /***
      * ===================================================================== ***\
@@ -25,20 +34,86 @@ public class ItsyBitsyHashTable<T> {
      * hashTable.get('myKey'); // >> 'myValue'
      */
 
-    private T[] memory;
+    /**
+     * Again we're going to use plain Java arrays to represent our memory. This
+     * time we need three of them side by side: one for the keys, one for the
+     * values, and one for the hash of each key (so we don't have to work it out
+     * again every time we look at a slot).
+     *
+     * A slot with a null key is empty.
+     */
+
+    private Object[] keys;
+    private T[] values;
+    private int[] hashes;
+    private int mask;
+
+    protected int length = 0;
 
     private static final int initialCapacity = 1024;
+    private static final int maximumCapacity = 1 << 30;
+    private static final double defaultLoadFactor = 0.75;
+
+    /**
+     * The "load factor" is how full we let the table get before we make it
+     * bigger. A fuller table wastes less memory but its keys have to wander
+     * further from home (see below).
+     */
+
+    private final double loadFactor;
+    private int threshold;
 
     /**
-     * Again we're going to use a plain JavaScript array to represent our memory.
+     * Making the table bigger means inserting every key again, all in one go.
+     * With millions of keys that one unlucky "set" takes a long time.
+     *
+     * In "incremental" mode we keep the old memory around instead and move a
+     * few of its slots over on every get, set and remove, until it's empty.
+     * While that's going on a key can be in either table, so we look in both.
      */
 
+    private final boolean incremental;
+    private Object[] oldKeys;
+    private T[] oldValues;
+    private int[] oldHashes;
+    private int oldMask;
+    private int migrated;
+    private int stepsPerCall = migrationSteps;
+    private long stepsTaken;
+
+    private static final int migrationSteps = 4;
+
     public ItsyBitsyHashTable(T clazz) {
         this(clazz, initialCapacity);
     }
 
     public ItsyBitsyHashTable(T clazz, int capacity) {
-        memory = (T[]) Array.newInstance(clazz.getClass(), capacity);
+        this(clazz, capacity, defaultLoadFactor);
+    }
+
+    public ItsyBitsyHashTable(T clazz, int capacity, double loadFactor) {
+        this(clazz, capacity, loadFactor, false);
+    }
+
+    public ItsyBitsyHashTable(T clazz, HashStrategy strategy) {
+        this(clazz, initialCapacity, defaultLoadFactor, false, strategy);
+    }
+
+    public ItsyBitsyHashTable(T clazz, int capacity, double loadFactor, boolean incremental) {
+        this(clazz, capacity, loadFactor, incremental, HashStrategy.MURMUR);
+    }
+
+    public ItsyBitsyHashTable(T clazz, int capacity, double loadFactor, boolean incremental, HashStrategy strategy) {
+        if (capacity < 0 || capacity > maximumCapacity) {
+            throw new Error("Capacity outside of hash table range: " + capacity);
+        }
+        if (!(loadFactor > 0.0 && loadFactor < 1.0)) {
+            throw new Error("Load factor must be between 0 and 1: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.incremental = incremental;
+        this.strategy = strategy;
+        allocate(clazz.getClass(), capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1);
     }
 
     /**
@@ -55,89 +130,717 @@ public class ItsyBitsyHashTable<T> {
      * You have to be careful though, if you had a really big key you don't want
      * to match it to a memory address that does not exist.
      *
-     * So the hashing algorithm needs to limit the size, which means that there
-     * are a limited number of addresses for an unlimited number of values.
+     * So we limit the size: our memory is always a power of two in size, and
+     * "hash & mask" keeps just enough of the low bits of the hash to land on a
+     * real address. That means there are a limited number of addresses for an
+     * unlimited number of values.
      *
      * The result is that you can end up with collisions. Places where two keys
-     * get turned into the same address.
-     *
-     * Any real-world hash table implementation would have to deal with this,
-     * however, we are just going to glaze over it and pretend that doesn't happen.
+     * get turned into the same address. Any real-world hash table has to deal
+     * with this, and so will we.
      */
 
     /**
      * Let's set up our "hashKey" function.
      *
      * Don't worry about understanding the logic of this function, just know that
-     * it accepts a string and outputs a (mostly) unique address that we will use
+     * it accepts a key and outputs a (mostly) unique number that we will use
      * in all of our other functions.
+     *
+     * The one thing that matters: every one of its 32 bits has to depend on the
+     * whole key. "hash & mask" only keeps the low bits, and a big table keeps a
+     * lot of them. If the top bits were always 0, a table with a million slots
+     * would only ever use the first few thousand addresses.
      */
 
-    // public int hashKey(T key) {
-    // int hash = 0;
-    // for (int index = 0; index < key.length; index++) {
-    // // Oh look– magic.
-    // let code = key.charCodeAt(index);
-    // hash = ((hash << 5) - hash) + code | 0;
-    // }
-    // return hash;
-    // }
-
     public int hashKey(T keyobj) {
-        int objhash = keyobj.hashCode();
+        return this.strategy.hash(keyobj);
+    }
 
-        int rightBits = objhash & 0xffff; // Left-most 16 bits
-        int leftBits = objhash & 0xffff0000; // Right-most 16 bits
+    /**
+     * There's more than one way to hash, and which one is best depends on the
+     * keys. So the table takes a "HashStrategy" when it's made, and uses MURMUR
+     * unless told otherwise.
+     */
 
-        leftBits = objhash >>> 16; // Shift the left-most 16 bits to a 16-bit value
+    public interface HashStrategy {
 
-        return rightBits ^ leftBits; // XOR the left-most and right-most bits
+        int hash(Object key);
+
+        /**
+         * The "finalizer" from MurmurHash3: a few multiplies and shifts that mix
+         * every bit of "hashCode" into every other bit. Keys that look alike
+         * end up looking nothing alike.
+         *
+         * A String works out its "hashCode" once and keeps it, so mixing it is
+         * just as quick for long Strings as for short ones.
+         */
+
+        HashStrategy MURMUR = key -> mix(key.hashCode());
+
+        /**
+         * The original, kept to show what goes wrong: XOR the left-most 16 bits
+         * of "hashCode" into the right-most 16 bits. The answer is only ever 16
+         * bits, so in a table bigger than 65536 slots most of memory is never
+         * used. And keys that only differ in the same way in both halves (like
+         * 65537, 131074, ...) all land on the same address.
+         *
+         * Don't use this for real tables. It's here for the diagnostics.
+         */
+
+        HashStrategy FOLD = key -> {
+            int objhash = key.hashCode();
+
+            int rightBits = objhash & 0xffff; // Right-most 16 bits
+            int leftBits = objhash >>> 16; // Shift the left-most 16 bits to a 16-bit value
+
+            return rightBits ^ leftBits; // XOR the left-most and right-most bits
+        };
+
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * A byte[] can't be a key on its own: its "hashCode" and "equals" only
+     * care whether it's the very same array, not what's in it. "Bytes" wraps
+     * one so that two arrays with the same contents are the same key.
+     *
+     * The contents are hashed once, up front, a byte at a time using FNV-1a,
+     * and the array is copied so nobody can change it behind the table's back.
+     */
+
+    public static final class Bytes {
+        private final byte[] bytes;
+        private final int hash;
+
+        public Bytes(byte[] bytes) {
+            this.bytes = bytes.clone();
+
+            int hash = 0x811c9dc5;
+            for (byte b : this.bytes) {
+                hash = (hash ^ (b & 0xff)) * 0x01000193;
+            }
+            this.hash = hash;
+        }
+
+        public byte[] toByteArray() {
+            return this.bytes.clone();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Bytes
+                && ((Bytes) other).hash == this.hash
+                && Arrays.equals(((Bytes) other).bytes, this.bytes);
+        }
+    }
+
+    private final HashStrategy strategy;
+
+    /**
+     * Lots of lookups are for keys that aren't there. A Bloom filter (see
+     * ItsyBitsyBloomFilter) can say "definitely not here" without touching the
+     * table at all. Every key we set also goes into the filter.
+     *
+     * The filter only knows which keys were ever set, not which were removed,
+     * so a removed key just means a wasted look in the table, never a wrong
+     * answer.
+     */
+
+    private ItsyBitsyBloomFilter<T> filter;
+
+    public void useBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        this.filter = new ItsyBitsyBloomFilter<>(expectedInsertions, falsePositiveRate);
+
+        // Keys that are already in the table have to go in too.
+        for (Object[] keys : new Object[][] { this.keys, this.oldKeys }) {
+            if (keys != null) {
+                for (Object key : keys) {
+                    if (key != null) {
+                        this.filter.add(asKey(key));
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean definitelyMissing(T key) {
+        return this.filter != null && !this.filter.mightContain(key);
+    }
+
+    /**
+     * So what do we do when a key's address is already taken? We just try the
+     * next address, and the next, until we find a free one. This is called
+     * "linear probing". Every key lives at its "home" address or a little after
+     * it, and how far after is its "distance" from home.
+     *
+     * On its own that can make some keys wander a long way. So we add one rule,
+     * "Robin Hood hashing": when a key that has wandered further than the key
+     * sitting in a slot comes along, it takes the slot, and the key that was
+     * there keeps looking instead. We steal from the rich (keys close to home)
+     * and give to the poor (keys far from home), so nobody ends up very far.
+     *
+     *     home:      2  2  3  3        new key "x", home 2
+     *     distance:  0  1  1  2
+     *     [_, _, a, b, c, d, _]
+     *
+     * Looking for "x" works the same way. We walk forward from its home and if
+     * we reach a key that is closer to home than we are, "x" would have taken
+     * that slot. So "x" isn't in the table and we can stop early.
+     */
+
+    private int distance(int address) {
+        return distance(this.hashes, this.mask, address);
+    }
+
+    private static int distance(int[] hashes, int mask, int address) {
+        return (address - (hashes[address] & mask)) & mask;
+    }
+
+    private int find(T key, int hash) {
+        return find(this.keys, this.hashes, this.mask, key, hash);
+    }
+
+    private static int find(Object[] keys, int[] hashes, int mask, Object key, int hash) {
+        int address = hash & mask;
+
+        for (int distance = 0; ; distance++) {
+            if (keys[address] == null || distance > distance(hashes, mask, address)) {
+                return -1;
+            }
+            if (hashes[address] == hash && keys[address].equals(key)) {
+                return address;
+            }
+            address = (address + 1) & mask;
+        }
     }
 
     /**
      * Next, let's define our "get" function so we have a way of accessing values
      * by their key.
      *
+     * Because Robin Hood keeps every key close to home, we only ever look at a
+     * handful of slots.
+     *
      * HashTable access is constant O(1) - "AWESOME!!"
      */
 
     public T get(T key) {
-        // We start by turning our key into an address.
-        int address = this.hashKey(key);
+        this.migrate(this.stepsPerCall);
+        if (this.definitelyMissing(key)) {
+            return null;
+        }
+
+        // We start by turning our key into an address and looking for it.
+        int hash = this.hashKey(key);
+        int address = this.find(key, hash);
         // Then we simply return whatever is at that address.
-        return this.memory[address];
+        if (address >= 0) {
+            return this.values[address];
+        }
+        // (Unless we're in the middle of a resize, and it hasn't moved yet.)
+        address = this.findOld(key, hash);
+        return address < 0 ? null : this.oldValues[address];
     }
 
     /**
      * We also need a way of adding data before we access it, so we will create
      * a "set" function that inserts values.
      *
-     * HashTable setting is constant O(1) - "AWESOME!!"
+     * HashTable setting is constant O(1) "amortized" - "AWESOME!!"
      */
 
     public void set(T key, T value) {
+        if (key == null) {
+            throw new Error("Hash table keys cannot be null");
+        }
+
+        this.migrate(this.stepsPerCall);
+
         // Again we start by turning the key into an address.
-        int address = this.hashKey(key);
-        // Then just set the value at that address.
-        this.memory[address] = value;
+        int hash = this.hashKey(key);
+
+        // If the key is already there we just replace its value.
+        int address = this.find(key, hash);
+        if (address >= 0) {
+            this.values[address] = value;
+            return;
+        }
+        address = this.findOld(key, hash);
+        if (address >= 0) {
+            this.oldValues[address] = value;
+            return;
+        }
+
+        // Otherwise make sure there's room and then insert it.
+        if (this.length >= this.threshold) {
+            this.resize(this.keys.length * 2);
+        }
+        this.insert(key, value, hash);
+        this.length++;
+        if (this.filter != null) {
+            this.filter.add(key);
+        }
+    }
+
+    private void insert(Object key, T value, int hash) {
+        int address = hash & this.mask;
+
+        for (int distance = 0; ; distance++) {
+            if (this.keys[address] == null) {
+                this.keys[address] = key;
+                this.values[address] = value;
+                this.hashes[address] = hash;
+                return;
+            }
+
+            // Robin Hood: if the key living here is closer to home than we are,
+            // we take its slot and it has to keep looking instead.
+            int existing = this.distance(address);
+            if (existing < distance) {
+                Object evictedKey = this.keys[address];
+                T evictedValue = this.values[address];
+                int evictedHash = this.hashes[address];
+
+                this.keys[address] = key;
+                this.values[address] = value;
+                this.hashes[address] = hash;
+
+                key = evictedKey;
+                value = evictedValue;
+                hash = evictedHash;
+                distance = existing;
+            }
+
+            address = (address + 1) & this.mask;
+        }
     }
 
     /**
      * Finally we just need a way to remove items from our hash table.
      *
+     * We can't just empty the slot, because a key after it may have walked
+     * past it to get to its own slot, and looking for that key would now stop
+     * early at the hole. Instead we slide every key after it back by one until
+     * we reach an empty slot or a key that is already at home.
+     *
+     *     [a, b, c, d, _]   remove "b"
+     *     [a, c, d, _, _]
+     *
      * HashTable deletion is constant O(1) - "AWESOME!!"
      */
 
     public T remove(T key) {
+        this.migrate(this.stepsPerCall);
+        if (this.definitelyMissing(key)) {
+            return null;
+        }
+
         // As always, we hash the key to get an address.
-        int address = this.hashKey(key);
+        int hash = this.hashKey(key);
+        int address = this.find(key, hash);
         // Then, if it exists, we `delete` it.
-        if (this.memory[address] != null) {
-            T removed = this.memory[address];
-            this.memory[address] = null;
+        if (address >= 0) {
+            T removed = this.values[address];
+            removeAt(this.keys, this.values, this.hashes, this.mask, address);
+            this.length--;
+            return removed;
+        }
+
+        address = this.findOld(key, hash);
+        if (address >= 0) {
+            T removed = this.oldValues[address];
+            removeAt(this.oldKeys, this.oldValues, this.oldHashes, this.oldMask, address);
+            this.length--;
             return removed;
         }
         return null;
     }
 
+    private static <T> void removeAt(Object[] keys, T[] values, int[] hashes, int mask, int address) {
+        int next = (address + 1) & mask;
+
+        while (keys[next] != null && distance(hashes, mask, next) > 0) {
+            keys[address] = keys[next];
+            values[address] = values[next];
+            hashes[address] = hashes[next];
+            address = next;
+            next = (next + 1) & mask;
+        }
+
+        keys[address] = null;
+        values[address] = null;
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    /**
+     * When the table gets too full we make a new one twice the size and insert
+     * every key again. Their addresses all change because the mask changes.
+     */
+
+    private void resize(int capacity) {
+        // Doubling 1 << 30 wraps around to a negative number, so that's full too.
+        if (capacity <= 0 || capacity > maximumCapacity) {
+            throw new Error("Hash table is full");
+        }
+
+        // The last resize should always be done by now (see "migrate"), but
+        // if it isn't, finish it before we start another one.
+        this.migrate(Integer.MAX_VALUE);
+
+        Object[] oldKeys = this.keys;
+        T[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+
+        this.allocate(oldValues.getClass().getComponentType(), capacity);
+
+        if (this.incremental) {
+            this.oldKeys = oldKeys;
+            this.oldValues = oldValues;
+            this.oldHashes = oldHashes;
+            this.oldMask = oldKeys.length - 1;
+            this.migrated = 0;
+
+            // Only sets that add a key bring the next resize closer, and there
+            // are (threshold - length) of those left before it. Between them
+            // they have to get through all (old capacity + length) steps.
+            long work = (long) oldKeys.length + this.length;
+            long headroom = Math.max(1, this.threshold - this.length);
+            this.stepsPerCall = (int) Math.max(migrationSteps, (work + headroom - 1) / headroom);
+            return;
+        }
+
+        for (int address = 0; address < oldKeys.length; address++) {
+            if (oldKeys[address] != null) {
+                this.insert(oldKeys[address], oldValues[address], oldHashes[address]);
+            }
+        }
+    }
+
+    /**
+     * Moving a slot from the old memory to the new is just a remove from one
+     * and an insert into the other. Removing slides the keys after it back, so
+     * the same slot may fill up again and we keep moving it until it's empty.
+     * Only then do we go on to the next slot.
+     *
+     * Every step moves one key or skips one empty slot, so the whole move takes
+     * at most (old capacity + length) steps. "resize" shares those steps out
+     * over the sets that are left before the next resize, so the move is
+     * always done by then. With the default load factor that's 4 steps per
+     * call. A small load factor leaves few sets to share them with (at 0.25,
+     * 5 per call; at 0.1, about 11), but it's still a fixed handful per call and
+     * never the whole table at once.
+     */
+
+    private void migrate(int steps) {
+        for (int step = 0; step < steps && this.oldKeys != null; step++) {
+            int address = this.migrated;
+            if (this.oldKeys[address] == null) {
+                if (++this.migrated == this.oldKeys.length) {
+                    this.oldKeys = null;
+                    this.oldValues = null;
+                    this.oldHashes = null;
+                }
+            } else {
+                this.insert(this.oldKeys[address], this.oldValues[address], this.oldHashes[address]);
+                removeAt(this.oldKeys, this.oldValues, this.oldHashes, this.oldMask, address);
+            }
+            this.stepsTaken++;
+        }
+    }
+
+    private int findOld(T key, int hash) {
+        return this.oldKeys == null ? -1 : find(this.oldKeys, this.oldHashes, this.oldMask, key, hash);
+    }
+
+    /**
+     * How well is the hash doing? "diagnostics" counts, for every key, how far
+     * it had to wander from home, and for every slot, how many keys call it
+     * home. A good hash has almost every key at distance 0 or 1, and almost no
+     * slot that is home to more than two keys.
+     *
+     * This looks at every slot, so it's linear O(N) - "OKAY." for a check-up,
+     * not for every call.
+     */
+
+    public static final class Diagnostics {
+        // probeLengths[d] is how many keys are "d" slots from home.
+        public final int[] probeLengths;
+        // homeOccupancy[k] is how many slots are home to "k" keys.
+        public final int[] homeOccupancy;
+
+        Diagnostics(int[] probeLengths, int[] homeOccupancy) {
+            this.probeLengths = probeLengths;
+            this.homeOccupancy = homeOccupancy;
+        }
+
+        public int maxProbeLength() {
+            return this.probeLengths.length - 1;
+        }
+
+        public double averageProbeLength() {
+            long keys = 0;
+            long total = 0;
+            for (int distance = 0; distance < this.probeLengths.length; distance++) {
+                keys += this.probeLengths[distance];
+                total += (long) distance * this.probeLengths[distance];
+            }
+            return keys == 0 ? 0 : (double) total / keys;
+        }
+
+        @Override
+        public String toString() {
+            return "probe lengths " + Arrays.toString(this.probeLengths)
+                + ", home occupancy " + Arrays.toString(this.homeOccupancy)
+                + ", average probe length " + this.averageProbeLength();
+        }
+    }
+
+    public Diagnostics diagnostics() {
+        int[] probeLengths = new int[1];
+        int[] homeOccupancy = new int[1];
+
+        // In the middle of an incremental resize some keys are still in the old
+        // memory, so we count both.
+        Object[][] allKeys = { this.keys, this.oldKeys };
+        int[][] allHashes = { this.hashes, this.oldHashes };
+        for (int table = 0; table < allKeys.length; table++) {
+            Object[] keys = allKeys[table];
+            int[] hashes = allHashes[table];
+            if (keys == null) {
+                continue;
+            }
+
+            int mask = keys.length - 1;
+            int[] homes = new int[keys.length];
+            for (int address = 0; address < keys.length; address++) {
+                if (keys[address] != null) {
+                    probeLengths = tally(probeLengths, distance(hashes, mask, address));
+                    homes[hashes[address] & mask]++;
+                }
+            }
+            for (int home : homes) {
+                homeOccupancy = tally(homeOccupancy, home);
+            }
+        }
+
+        return new Diagnostics(trim(probeLengths), trim(homeOccupancy));
+    }
+
+    private static int[] tally(int[] histogram, int index) {
+        if (index >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(index + 1, histogram.length * 2));
+        }
+        histogram[index]++;
+        return histogram;
+    }
+
+    private static int[] trim(int[] histogram) {
+        int length = histogram.length;
+        while (length > 1 && histogram[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(histogram, length);
+    }
+
+    /**
+     * Hash tables are unordered, but we can still visit every key and value:
+     * just walk the memory from start to end and skip the empty slots.
+     *
+     * In the middle of an incremental resize a "get" moves keys from the old
+     * memory to the new one, which could make us visit a key twice or not at
+     * all. So first we finish the resize. Walking is linear O(N) anyway, so
+     * finishing costs no more than the walk itself.
+     *
+     * (Don't set or remove while walking, the keys move around underneath.)
+     */
+
+    @Override
+    public Iterator<Map.Entry<T, T>> iterator() {
+        return new SlotIterator<Map.Entry<T, T>>() {
+            Map.Entry<T, T> at(int address) {
+                return new AbstractMap.SimpleImmutableEntry<>(asKey(this.keys[address]), this.values[address]);
+            }
+        };
+    }
+
+    public Iterator<T> keyIterator() {
+        return new SlotIterator<T>() {
+            T at(int address) {
+                return asKey(this.keys[address]);
+            }
+        };
+    }
+
+    public Iterator<T> valueIterator() {
+        return new SlotIterator<T>() {
+            T at(int address) {
+                return this.values[address];
+            }
+        };
+    }
+
+    // "keys" is an Object[] so the same memory can hold any kind of key, but
+    // every key in it was handed to us by "set" as a T.
+    @SuppressWarnings("unchecked")
+    private static <T> T asKey(Object key) {
+        return (T) key;
+    }
+
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        final Object[] keys;
+        final T[] values;
+        int address = -1;
+
+        SlotIterator() {
+            ItsyBitsyHashTable.this.migrate(Integer.MAX_VALUE);
+            this.keys = ItsyBitsyHashTable.this.keys;
+            this.values = ItsyBitsyHashTable.this.values;
+            this.advance();
+        }
+
+        abstract E at(int address);
+
+        private void advance() {
+            do {
+                this.address++;
+            } while (this.address < this.keys.length && this.keys[this.address] == null);
+        }
+
+        public boolean hasNext() {
+            return this.address < this.keys.length;
+        }
+
+        public E next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            E next = this.at(this.address);
+            this.advance();
+            return next;
+        }
+    }
+
+    /**
+     * A "Spliterator" is an iterator that can be cut in half, so a parallel
+     * stream can hand each half to a different core. Ours cuts the memory into
+     * two ranges of slots, and each of those can be cut again, and so on.
+     *
+     * We know exactly how many keys are in the whole table ("SIZED"), but not
+     * how many are in each half without counting them, so the halves only
+     * guess: half each. That's why we don't claim "SUBSIZED" (java.util.HashMap
+     * doesn't either). Streams work just the same, they just can't pre-size
+     * the arrays for something like "toArray".
+     *
+     * So once a Spliterator has been split, "estimateSize" is only good for
+     * deciding how to share out the work. It is not a count, and
+     * "getExactSizeIfKnown" says so by returning -1.
+     */
+
+    @Override
+    public Spliterator<Map.Entry<T, T>> spliterator() {
+        this.migrate(Integer.MAX_VALUE);
+        return new SlotSpliterator<>(this.keys, this.values, 0, this.keys.length, this.length, true);
+    }
+
+    public Stream<Map.Entry<T, T>> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    public Stream<Map.Entry<T, T>> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    static final class SlotSpliterator<T> implements Spliterator<Map.Entry<T, T>> {
+        private final Object[] keys;
+        private final T[] values;
+        private int address;
+        private final int fence;
+        private long estimate;
+        private boolean exact;
+
+        SlotSpliterator(Object[] keys, T[] values, int address, int fence, long estimate, boolean exact) {
+            this.keys = keys;
+            this.values = values;
+            this.address = address;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<T, T>> action) {
+            while (this.address < this.fence) {
+                int address = this.address++;
+                if (this.keys[address] != null) {
+                    action.accept(new AbstractMap.SimpleImmutableEntry<>(asKey(this.keys[address]), this.values[address]));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<T, T>> action) {
+            for (; this.address < this.fence; this.address++) {
+                if (this.keys[this.address] != null) {
+                    action.accept(new AbstractMap.SimpleImmutableEntry<>(asKey(this.keys[this.address]), this.values[this.address]));
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<Map.Entry<T, T>> trySplit() {
+            int middle = (this.address + this.fence) >>> 1;
+            if (middle <= this.address) {
+                return null;
+            }
+            this.estimate >>>= 1;
+            this.exact = false;
+            Spliterator<Map.Entry<T, T>> low = new SlotSpliterator<>(this.keys, this.values, this.address, middle, this.estimate, false);
+            this.address = middle;
+            return low;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (this.exact ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
+    boolean resizing() {
+        return this.oldKeys != null;
+    }
+
+    long stepsTaken() {
+        return this.stepsTaken;
+    }
+
+    private void allocate(Class<?> type, int capacity) {
+        this.keys = new Object[capacity];
+        this.values = (T[]) Array.newInstance(type, capacity);
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) Math.min(capacity - 1, (long) (capacity * this.loadFactor));
+    }
+
 }
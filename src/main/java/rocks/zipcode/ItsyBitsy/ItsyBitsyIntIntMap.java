@@ -0,0 +1,212 @@
+package rocks.zipcode.ItsyBitsy;
+
+/**
+ * ItsyBitsyHashTable only takes objects, so every int key we hand it gets
+ * boxed into a new Integer, and every lookup allocates a little garbage just
+ * to ask a question.
+ *
+ * This map keeps int keys and int values straight in arrays. There are no
+ * nodes, no boxes, and nothing is allocated on get or set (except when the
+ * map grows). Counting things by id is the classic use: "map.set(id,
+ * map.get(id) + 1)" never touches the garbage collector.
+ *
+ * It works like ItsyBitsyHashTable: linear probing from the key's home address,
+ * and removing slides the keys after it back so there are never any holes.
+ */
+
+public class ItsyBitsyIntIntMap {
+
+    /**
+     * A slot with key 0 is empty. That means 0 itself can't live in the arrays,
+     * so if someone uses 0 as a key we keep its value off to the side.
+     */
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int threshold;
+
+    private boolean hasZeroKey = false;
+    private int zeroValue;
+
+    protected int length = 0;
+
+    private final int missingValue;
+
+    private static final int initialCapacity = 1024;
+    private static final int maximumCapacity = 1 << 30;
+    private static final double loadFactor = 0.75;
+
+    public ItsyBitsyIntIntMap() {
+        this(initialCapacity);
+    }
+
+    public ItsyBitsyIntIntMap(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * There is no null for an int, so "get" needs some other way to say "not
+     * found". Pick a value your keys never map to, like -1. (For counting, the
+     * default of 0 is exactly right: a key we've never seen has a count of 0.)
+     *
+     * Nothing stops you from storing the missing value itself, but then "get"
+     * can't tell it apart from a key that isn't there. Ask "containsKey".
+     */
+
+    public ItsyBitsyIntIntMap(int capacity, int missingValue) {
+        if (capacity < 0 || capacity > maximumCapacity) {
+            throw new Error("Capacity outside of hash table range: " + capacity);
+        }
+        this.missingValue = missingValue;
+        allocate(capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    /**
+     * Mix the bits of the key so that keys that only differ in their high
+     * bits (like multiples of 1024) still land far apart.
+     */
+
+    private static int hash(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private int find(int key) {
+        int address = hash(key) & this.mask;
+        while (true) {
+            if (this.keys[address] == key) return address;
+            if (this.keys[address] == 0) return -1;
+            address = (address + 1) & this.mask;
+        }
+    }
+
+    /**
+     * HashTable access is constant O(1) - "AWESOME!!"
+     */
+
+    public int get(int key) {
+        if (key == 0) {
+            return this.hasZeroKey ? this.zeroValue : this.missingValue;
+        }
+        int address = this.find(key);
+        return address < 0 ? this.missingValue : this.values[address];
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? this.hasZeroKey : this.find(key) >= 0;
+    }
+
+    /**
+     * Returns the value that was there before, or the missing value if there wasn't one.
+     *
+     * HashTable setting is constant O(1) "amortized" - "AWESOME!!"
+     */
+
+    public int set(int key, int value) {
+        if (key == 0) {
+            int previous = this.hasZeroKey ? this.zeroValue : this.missingValue;
+            if (!this.hasZeroKey) this.length++;
+            this.hasZeroKey = true;
+            this.zeroValue = value;
+            return previous;
+        }
+
+        int address = hash(key) & this.mask;
+        while (this.keys[address] != 0) {
+            if (this.keys[address] == key) {
+                int previous = this.values[address];
+                this.values[address] = value;
+                return previous;
+            }
+            address = (address + 1) & this.mask;
+        }
+
+        this.keys[address] = key;
+        this.values[address] = value;
+        this.length++;
+        if (this.length >= this.threshold) {
+            this.resize(this.keys.length * 2);
+        }
+        return this.missingValue;
+    }
+
+    /**
+     * Removing slides back every key after the hole whose home is at or before
+     * the hole, so no search ever stops early at it.
+     *
+     * HashTable deletion is constant O(1) - "AWESOME!!"
+     */
+
+    public int remove(int key) {
+        if (key == 0) {
+            if (!this.hasZeroKey) return this.missingValue;
+            int previous = this.zeroValue;
+            this.hasZeroKey = false;
+            this.zeroValue = 0;
+            this.length--;
+            return previous;
+        }
+
+        int gap = this.find(key);
+        if (gap < 0) {
+            return this.missingValue;
+        }
+        int removed = this.values[gap];
+
+        int next = (gap + 1) & this.mask;
+        while (this.keys[next] != 0) {
+            int home = hash(this.keys[next]) & this.mask;
+            // Only move the key back if the hole is on its way from home.
+            if (((next - home) & this.mask) >= ((next - gap) & this.mask)) {
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                gap = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+
+        this.keys[gap] = 0;
+        this.values[gap] = 0;
+        this.length--;
+        return removed;
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    private void resize(int capacity) {
+        // Doubling 1 << 30 wraps around to a negative number, so that's full too.
+        if (capacity <= 0 || capacity > maximumCapacity) {
+            throw new Error("Hash table is full");
+        }
+
+        int[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.allocate(capacity);
+
+        for (int address = 0; address < oldKeys.length; address++) {
+            int key = oldKeys[address];
+            if (key != 0) {
+                int slot = hash(key) & this.mask;
+                while (this.keys[slot] != 0) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.keys[slot] = key;
+                this.values[slot] = oldValues[address];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * loadFactor);
+    }
+}
@@ -0,0 +1,198 @@
+package rocks.zipcode.ItsyBitsy;
+
+/**
+ * Lots of maps are keyed by a number but hold real objects: users by id,
+ * lines of a file by line number. The values have to be objects anyway, but
+ * the keys don't, so this is ItsyBitsyIntIntMap with an Object[] of values.
+ *
+ * "get" can say "not found" with null this time. A key that's stored with a
+ * null value looks just the same, so "containsKey" is the way to tell them
+ * apart.
+ */
+
+public class ItsyBitsyIntObjectMap<V> {
+
+    /**
+     * Key 0 marks an empty slot, just like in ItsyBitsyIntIntMap.
+     */
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+
+    private boolean hasZeroKey = false;
+    private V zeroValue;
+
+    protected int length = 0;
+
+    private static final int initialCapacity = 1024;
+    private static final int maximumCapacity = 1 << 30;
+    private static final double loadFactor = 0.75;
+
+    public ItsyBitsyIntObjectMap() {
+        this(initialCapacity);
+    }
+
+    public ItsyBitsyIntObjectMap(int capacity) {
+        if (capacity < 0 || capacity > maximumCapacity) {
+            throw new Error("Capacity outside of hash table range: " + capacity);
+        }
+        allocate(capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    /**
+     * The same mix as ItsyBitsyIntIntMap.
+     */
+
+    private static int hash(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private int find(int key) {
+        int address = hash(key) & this.mask;
+        while (true) {
+            if (this.keys[address] == key) return address;
+            if (this.keys[address] == 0) return -1;
+            address = (address + 1) & this.mask;
+        }
+    }
+
+    /**
+     * HashTable access is constant O(1) - "AWESOME!!"
+     */
+
+    public V get(int key) {
+        if (key == 0) {
+            return this.hasZeroKey ? this.zeroValue : null;
+        }
+        int address = this.find(key);
+        return address < 0 ? null : this.valueAt(address);
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? this.hasZeroKey : this.find(key) >= 0;
+    }
+
+    /**
+     * Returns the value that was there before, or null if there wasn't one.
+     *
+     * HashTable setting is constant O(1) "amortized" - "AWESOME!!"
+     */
+
+    public V set(int key, V value) {
+        if (key == 0) {
+            V previous = this.hasZeroKey ? this.zeroValue : null;
+            if (!this.hasZeroKey) this.length++;
+            this.hasZeroKey = true;
+            this.zeroValue = value;
+            return previous;
+        }
+
+        int address = hash(key) & this.mask;
+        while (this.keys[address] != 0) {
+            if (this.keys[address] == key) {
+                V previous = this.valueAt(address);
+                this.values[address] = value;
+                return previous;
+            }
+            address = (address + 1) & this.mask;
+        }
+
+        this.keys[address] = key;
+        this.values[address] = value;
+        this.length++;
+        if (this.length >= this.threshold) {
+            this.resize(this.keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removing slides back every key after the hole whose home is at or before
+     * the hole, so no search ever stops early at it.
+     *
+     * HashTable deletion is constant O(1) - "AWESOME!!"
+     */
+
+    public V remove(int key) {
+        if (key == 0) {
+            if (!this.hasZeroKey) return null;
+            V previous = this.zeroValue;
+            this.hasZeroKey = false;
+            this.zeroValue = null;
+            this.length--;
+            return previous;
+        }
+
+        int gap = this.find(key);
+        if (gap < 0) {
+            return null;
+        }
+        V removed = this.valueAt(gap);
+
+        int next = (gap + 1) & this.mask;
+        while (this.keys[next] != 0) {
+            int home = hash(this.keys[next]) & this.mask;
+            // Only move the key back if the hole is on its way from home.
+            if (((next - home) & this.mask) >= ((next - gap) & this.mask)) {
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                gap = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+
+        this.keys[gap] = 0;
+        // Forget the value too, or the garbage collector can never have it.
+        this.values[gap] = null;
+        this.length--;
+        return removed;
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    // The values are a plain Object[] (we never learn V's class), but only
+    // "set" puts anything in there.
+    @SuppressWarnings("unchecked")
+    private V valueAt(int address) {
+        return (V) this.values[address];
+    }
+
+    private void resize(int capacity) {
+        // Doubling 1 << 30 wraps around to a negative number, so that's full too.
+        if (capacity <= 0 || capacity > maximumCapacity) {
+            throw new Error("Hash table is full");
+        }
+
+        int[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.allocate(capacity);
+
+        for (int address = 0; address < oldKeys.length; address++) {
+            int key = oldKeys[address];
+            if (key != 0) {
+                int slot = hash(key) & this.mask;
+                while (this.keys[slot] != 0) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.keys[slot] = key;
+                this.values[slot] = oldValues[address];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * loadFactor);
+    }
+}
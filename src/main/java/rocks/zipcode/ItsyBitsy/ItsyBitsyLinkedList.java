@@ -1,5 +1,9 @@
 package rocks.zipcode.ItsyBitsy;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
 * Next we're going to see how a graph-like structure can help optimize ordered
 * lists of data.
@@ -27,16 +31,18 @@ package rocks.zipcode.ItsyBitsy;
 *     }
 */
 
-public class ItsyBitsyLinkedList<T> {
+public class ItsyBitsyLinkedList<T> implements Iterable<T> {
 
     // this is the container we use to encapsulate value of type T
     class Node {
         public T value;
         public Node next;
+        public Node prev;
 
         Node(T v) {
             value = v;
             next = null;
+            prev = null;
         }
     }
 
@@ -44,42 +50,172 @@ public class ItsyBitsyLinkedList<T> {
   * Unlike a graph, a linked list has a single node that starts off the entire
   * chain. This is known as the "head" of the linked list.
   *
+  * We're also going to keep the node at the other end, the "tail", and give
+  * every node a "prev" as well as a "next". That makes it a "doubly linked"
+  * list, and means we can work at either end without walking the chain:
+  *
+  *     head -> 1 <-> 2 <-> 3 <-> 4 <-> 5 <- tail
+  *
   * We're also going to track the length.
   */
     Node head;
+    Node tail;
     int length = 0;
 
+ /**
+  * "modCount" goes up every time a node is added or removed. An iterator
+  * remembers it, so if the list changes under it (other than through the
+  * iterator itself) it can stop right away instead of walking into a node that
+  * was removed, or already reused for something else.
+  */
+    private int modCount = 0;
+
   ItsyBitsyLinkedList() {
+   this(0);
+    }
+
+ /**
+  * Every add makes a new Node and every remove throws one away for the garbage
+  * collector to clean up. When a list is constantly adding and removing that
+  * adds up to a lot of garbage.
+  *
+  * So a list can keep a "pool" of up to "poolSize" removed nodes, chained
+  * together through their "next", and hand them out again instead of making
+  * new ones. Once the list has grown to its usual size, adding and removing
+  * makes no garbage at all. "allocations" counts how many nodes were really
+  * made, so you can check.
+  *
+  * (A removed node gets reused, so don't hang on to a Node from "get" after
+  * removing it. It may already be holding some other value somewhere else in
+  * the list.)
+  */
+    private Node pool;
+    private int pooled = 0;
+    private final int poolSize;
+    private long allocations = 0;
+
+  ItsyBitsyLinkedList(int poolSize) {
+   if (poolSize < 0) {
+     throw new Error("Pool size cannot be negative: " + poolSize);
+   }
    this.head = null;
+   this.tail = null;
    this.length = 0;
+   this.poolSize = poolSize;
     }
 
+ private Node newNode(T value) {
+   Node node = this.pool;
+   if (node == null) {
+     this.allocations++;
+     return new Node(value);
+   }
+   this.pool = node.next;
+   this.pooled--;
+   node.next = null;
+   node.value = value;
+   return node;
+ }
+
+ private void recycle(Node node) {
+   // Forget the value so the pool doesn't keep it alive.
+   node.value = null;
+   node.prev = null;
+   node.next = null;
+   if (this.pooled < this.poolSize) {
+     node.next = this.pool;
+     this.pool = node;
+     this.pooled++;
+   }
+ }
+
+ public long allocations() {
+   return this.allocations;
+ }
+
  /**
   * First we need a way to retrieve a value in a given position.
   *
   * This works differently than normal lists as we can't just jump to the
   * correct position. Instead, we need to move through the individual nodes.
+  *
+  * Because we can walk in either direction we start from whichever end is
+  * closer, so we never walk more than half of the list.
+  *
+  * Linked list access is linear O(N) - "OKAY."
   */
 
  public Node get(int position) {
-   // Throw an error if position is greater than the length of the LinkedList
-   if (position >= this.length) {
+   // Throw an error if position is outside of the LinkedList
+   if (position < 0 || position >= this.length) {
      throw new Error("Position outside of list range");
    }
 
-   // Start with the head of the list.
-   Node current = this.head;
-
-   // Slide through all of the items using node.next until we reach the
-   // specified position.
-   for (int index = 0; index < position; index++) {
-     current = current.next;
+   Node current;
+   if (position < this.length / 2) {
+     // Start with the head of the list and slide forward through the items
+     // using node.next until we reach the specified position.
+     current = this.head;
+     for (int index = 0; index < position; index++) {
+       current = current.next;
+     }
+   } else {
+     // Or start with the tail and slide backward using node.prev.
+     current = this.tail;
+     for (int index = this.length - 1; index > position; index--) {
+       current = current.prev;
+     }
    }
 
    // Return the node we found.
    return current;
  }
 
+ /**
+  * Adding and removing at either end only touches the end node, so they're
+  * constant O(1) - "AWESOME!!"
+  */
+
+ public void addFirst(T value) {
+   Node node = this.newNode(value);
+   node.next = this.head;
+   if (this.head == null) {
+     this.tail = node;
+   } else {
+     this.head.prev = node;
+   }
+   this.head = node;
+   this.length++;
+   this.modCount++;
+ }
+
+ public void addLast(T value) {
+   Node node = this.newNode(value);
+   node.prev = this.tail;
+   if (this.tail == null) {
+     this.head = node;
+   } else {
+     this.tail.next = node;
+   }
+   this.tail = node;
+   this.length++;
+   this.modCount++;
+ }
+
+ public T removeFirst() {
+   if (this.head == null) {
+     throw new Error("Removing from empty list");
+   }
+   return this.unlink(this.head);
+ }
+
+ public T removeLast() {
+   if (this.tail == null) {
+     throw new Error("Removing from empty list");
+   }
+   return this.unlink(this.tail);
+ }
+
  /**
   * Next we need a way to add nodes to the specified position.
   *
@@ -87,31 +223,36 @@ public class ItsyBitsyLinkedList<T> {
   */
 
  public void add(T value, int position) {
-   // First create a node to hold our value.
-   Node node = new Node(value);
+   if (position < 0 || position > this.length) {
+     throw new Error("Position outside of list range");
+   }
 
-   // We need to have a special case for nodes being inserted at the head.
-   // We'll set the "next" field to the current head and then replace it with
-   // our new node.
+   // We need to have a special case for nodes being inserted at either end,
+   // which don't need to look anything up.
    if (position == 0) {
-     node.next = this.head;
-     this.head = node;
+     this.addFirst(value);
+   } else if (position == this.length) {
+     this.addLast(value);
 
      // If we're adding a node in any other position we need to splice it in
      // between the current node and the previous node.
    } else {
-     // First, find the previous node and the current node.
-     Node prev = this.get(position - 1);
-     Node current = prev.next;
-     // Then insert the new node in between them by setting its "next" field
-     // to the current node and updating the previous node's "next" field to
-     // the new one.
+     // First create a node to hold our value.
+     Node node = this.newNode(value);
+     // Then find the current node and the one before it.
+     Node current = this.get(position);
+     Node prev = current.prev;
+     // Then insert the new node in between them, pointing both of them at the
+     // new node and the new node at both of them.
+     node.prev = prev;
      node.next = current;
      prev.next = node;
-   }
+     current.prev = node;
 
-   // Finally just increment the length.
-   this.length++;
+     // Finally just increment the length.
+     this.length++;
+     this.modCount++;
+   }
  }
 
  /**
@@ -125,24 +266,85 @@ public class ItsyBitsyLinkedList<T> {
      throw new Error("Removing from empty list");
    }
 
-   Node removed = null;
-   // If we're removing the first node we simply need to set the head to the
-   // next node in the chain
-   if (position == 0) {
-    removed = this.head;
-    this.head = this.head.next;
+   return this.unlink(this.get(position));
+ }
 
-     // For any other position, we need to look up the previous node and set it
-     // to the node after the current position.
+ /**
+  * Splicing a node out: point its neighbours at each other (or move the head
+  * or tail if it was at an end).
+  */
+
+ private T unlink(Node node) {
+   if (node.prev == null) {
+     this.head = node.next;
    } else {
-     Node prev = this.get(position - 1);
-     removed = prev.next;
-     prev.next = prev.next.next;
+     node.prev.next = node.next;
+   }
+   if (node.next == null) {
+     this.tail = node.prev;
+   } else {
+     node.next.prev = node.prev;
    }
 
    // Then we just decrement the length.
    this.length--;
-   return removed.value;
+   this.modCount++;
+   T value = node.value;
+   this.recycle(node);
+   return value;
+ }
+
+ public int size() {
+   return this.length;
+ }
+
+ /**
+  * Calling get(0), get(1), get(2), ... walks the chain again every time, which
+  * is quadratic O(N^2) - not even "OKAY." An iterator remembers where it is
+  * and takes one step per value instead, so going through the whole list is
+  * linear O(N).
+  *
+  *     for (T value : list) { ... }
+  */
+
+ @Override
+ public Iterator<T> iterator() {
+   return new Iterator<T>() {
+     Node next = ItsyBitsyLinkedList.this.head;
+     Node last = null;
+     int expectedModCount = ItsyBitsyLinkedList.this.modCount;
+
+     public boolean hasNext() {
+       return this.next != null;
+     }
+
+     private void checkForModification() {
+       if (ItsyBitsyLinkedList.this.modCount != this.expectedModCount) {
+         throw new ConcurrentModificationException();
+       }
+     }
+
+     public T next() {
+       this.checkForModification();
+       if (this.next == null) {
+         throw new NoSuchElementException();
+       }
+       this.last = this.next;
+       this.next = this.next.next;
+       return this.last.value;
+     }
+
+     // Removing the value we just got is constant O(1) too.
+     public void remove() {
+       if (this.last == null) {
+         throw new IllegalStateException();
+       }
+       this.checkForModification();
+       ItsyBitsyLinkedList.this.unlink(this.last);
+       this.last = null;
+       this.expectedModCount = ItsyBitsyLinkedList.this.modCount;
+     }
+   };
  }
 
 /**
@@ -1,6 +1,7 @@
 package rocks.zipcode.ItsyBitsy;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 
 /**
  * To demonstrate the raw interaction between memory and a data structure we're
@@ -18,32 +19,91 @@ class ItsyBitsyList<T> {
    *
    * Note that we want to store the length separately because in real life the
    * "memory" doesn't have a length you can read from.
+   *
+   * We're also going to store an "offset", the address in memory where our
+   * list actually starts. Most of the time it is 0, but being able to move it
+   * is what will let us add and remove values at the start of the list
+   * quickly. More on that in a bit.
    */
 
   protected T[] memory;
   protected int length = 0;
+  protected int offset = 0;
 
   private static final int initialCapacity = 1024;
+  private static final double defaultGrowthFactor = 1.5;
+
+  /**
+   * Real memory isn't infinite, and neither is our block. When we run out of
+   * room we have to ask for a bigger block and copy everything over into it.
+   *
+   * If we only asked for one extra slot each time, every push would have to
+   * copy the whole list. Instead we grow "geometrically", multiplying the size
+   * of the block by our growth factor. Copies become rarer the bigger the list
+   * gets, so their cost is spread out over all of the pushes.
+   *
+   * Pushing is still constant O(1) "amortized" - "AWESOME!!"
+   */
+
+  private final double growthFactor;
 
   public ItsyBitsyList(T clazz) {
     this(clazz, initialCapacity);
   }
 
   public ItsyBitsyList(T clazz, int capacity) {
+    this(clazz, capacity, defaultGrowthFactor);
+  }
+
+  public ItsyBitsyList(T clazz, int capacity, double growthFactor) {
+    if (capacity < 0) {
+      throw new Error("Capacity must not be negative: " + capacity);
+    }
+    if (!(growthFactor > 1.0)) {
+      throw new Error("Growth factor must be greater than 1: " + growthFactor);
+    }
     memory = (T[]) Array.newInstance(clazz.getClass(), capacity);
+    this.growthFactor = growthFactor;
+  }
+
+  /**
+   * Make sure there is room for at least "minCapacity" values without having
+   * to grow again. Handy when you know a big batch is coming.
+   */
+
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > this.length) {
+      this.makeRoomAtEnd(minCapacity - this.length);
+    }
+  }
+
+  /**
+   * And the opposite, give back any memory we aren't using so the block is
+   * exactly as big as the list.
+   */
+
+  public void trimToSize() {
+    if (this.length < this.memory.length) {
+      this.memory = Arrays.copyOfRange(this.memory, this.offset, this.offset + this.length);
+      this.offset = 0;
+    }
   }
 
   /**
    * First we need a way to retrieve data from our list.
    *
    * With a plain list, you have very fast memory access because you keep track
-   * of the address directly.
+   * of the address directly. Even with our offset it's just one addition.
    *
    * List access is constant O(1) - "AWESOME!!"
    */
 
   public T get(int address) {
-    return (T) this.memory[address];
+    // Past our length (or before our offset) is someone else's old memory.
+    if (address < 0 || address >= this.length) {
+      throw new Error("Address outside of list range");
+    }
+    return (T) this.memory[this.offset + address];
   }
 
   /**
@@ -69,7 +129,8 @@ class ItsyBitsyList<T> {
    * Pushing an item to the end of a list is constant O(1) - "AWESOME!!"
    */
   public void push(T value) {
-    this.memory[this.length] = value;
+    this.makeRoomAtEnd(1);
+    this.memory[this.offset + this.length] = value;
     this.length++;
   }
 
@@ -90,10 +151,12 @@ class ItsyBitsyList<T> {
     // do
 
     // Get the last value, stop storing it, and return it.
-    int lastAddress = this.length - 1;
+    int lastAddress = this.offset + this.length - 1;
     T value = this.memory[lastAddress];
     this.memory[lastAddress] = null;
     this.length--;
+    if (this.length == 0)
+      this.offset = 0;
 
     // Also return the value so it can be used.
     return value;
@@ -110,7 +173,8 @@ class ItsyBitsyList<T> {
 
   /**
    * In order to add a new item at the beginning of our list, we need to make
-   * room for our value at the start by sliding all of the values over by one.
+   * room for our value at the start. The simple way is to slide all of the
+   * values over by one.
    *
    * [a, b, c, d, e]
    * 0 1 2 3 4
@@ -118,29 +182,38 @@ class ItsyBitsyList<T> {
    * 1 2 3 4 5
    * [x, a, b, c, d, e]
    *
-   * In order to slide all of the items over we need to iterate over each one
-   * moving the prev value over.
+   * But we'd have to do that for every single item in the list, every single
+   * time, which is linear O(N).
+   *
+   * Instead, whenever we run out of room at the start, we slide everything
+   * over by a lot more than one and leave a gap in front of the list. Our
+   * offset then points at the first value.
    *
-   * Because we have to iterate over every single item in the list:
+   *        offset
+   *          ↓
+   * [_, _, _, a, b, c, d, e, _, _, _]
    *
-   * Unshifting an item to the start of a list is linear O(N) - "OKAY."
+   * Now the next few unshifts just drop their value into the gap and move the
+   * offset back by one, no sliding required.
+   *
+   *     offset
+   *       ↓
+   * [_, _, x, a, b, c, d, e, _, _, _]
+   *
+   * We only have to slide again once the gap is used up, and because the gap
+   * we leave grows with the list, that happens less and less often.
+   *
+   * Unshifting an item to the start of a list is constant O(1) "amortized" -
+   * "AWESOME!!"
    */
 
   public void unshift(T value) {
-    // Store the value we are going to add to the start.
-    T previous = value;
-
-    // Iterate through each item...
-    for (int address = 0; address < this.length; address++) {
-      // replacing the "current" value with the "previous" value and storing the
-      // "current" value for the next iteration.
-      T current = this.memory[address];
-      this.memory[address] = previous;
-      previous = current;
-    }
+    // Make sure there is a free address in front of the list.
+    this.makeRoomAtFront(1);
 
-    // Add the last item in a new position at the end of the list.
-    this.memory[this.length] = previous;
+    // Then move the start of the list back by one and put the value there.
+    this.offset--;
+    this.memory[this.offset] = value;
     this.length++;
   }
 
@@ -148,16 +221,18 @@ class ItsyBitsyList<T> {
    * Finally, we need to write a shift function to move in the opposite
    * direction.
    *
-   * We delete the first value and then slide through every single item in the
-   * list to move it down one address.
+   * Thanks to our offset we don't need to slide anything at all. We delete the
+   * first value and move the start of the list forward by one.
    *
+   *  offset
+   *    ↓
    * [x, a, b, c, d, e]
-   * 1 2 3 4 5
-   * ⬋ ⬋ ⬋ ⬋ ⬋
-   * 0 1 2 3 4
-   * [a, b, c, d, e]
    *
-   * Shifting an item from the start of a list is linear O(N) - "OKAY."
+   *     offset
+   *       ↓
+   * [_, a, b, c, d, e]
+   *
+   * Shifting an item from the start of a list is constant O(1) - "AWESOME!!"
    */
 
   public T shift() {
@@ -165,26 +240,199 @@ class ItsyBitsyList<T> {
     if (this.length == 0)
       return null;
 
-    T value = this.memory[0];
-
-    // Iterate through each item...
-    for (int address = 0; address < this.length - 1; address++) {
-      // and replace them with the next item in the list.
-      this.memory[address] = this.memory[address + 1];
-    }
+    T value = this.memory[this.offset];
 
-    // Delete the last item since it is now in the previous address.
-    this.memory[this.length - 1] = null;
+    // Delete the first item and move the start of the list past it.
+    this.memory[this.offset] = null;
+    this.offset++;
     this.length--;
+    if (this.length == 0)
+      this.offset = 0;
 
     return value;
   }
+
+  /**
+   * Doing these one value at a time gets expensive quickly. Inserting K values
+   * into the middle one after another slides the list over K times, which is
+   * O(N * K).
+   *
+   * If we know all of the values up front we can make room for all of them at
+   * once and slide the list over a single time. System.arraycopy does the
+   * sliding for us as one block copy. We even get to pick which side of the
+   * list to slide, so we always slide the shorter one.
+   *
+   *     insertRange(1, [x, y])
+   *
+   *     [a, b, c, d]
+   *      0  1  2  3
+   *          ⬊  ⬊  ⬊
+   *      0  1  2  3  4  5
+   *     [a, x, y, b, c, d]
+   *
+   * Inserting K values is linear O(N + K) - "OKAY."
+   */
+
+  public void insertRange(int address, T[] values) {
+    if (address < 0 || address > this.length) {
+      throw new Error("Address outside of list range");
+    }
+
+    int count = values.length;
+
+    if (address < this.length - address) {
+      // Closer to the start, so slide everything before the address back by
+      // "count" into the gap at the front...
+      this.makeRoomAtFront(count);
+      System.arraycopy(this.memory, this.offset, this.memory, this.offset - count, address);
+      this.offset -= count;
+    } else {
+      // otherwise slide everything after the address over by "count"...
+      this.makeRoomAtEnd(count);
+      System.arraycopy(this.memory, this.offset + address, this.memory, this.offset + address + count,
+          this.length - address);
+    }
+
+    // and drop the new values into the hole we made.
+    System.arraycopy(values, 0, this.memory, this.offset + address, count);
+    this.length += count;
+  }
+
+  /**
+   * Removing works the same way in reverse, we slide the shorter side over the
+   * range and forget the leftover addresses.
+   *
+   * Removes the values from "from" (inclusive) to "to" (exclusive).
+   *
+   * Removing K values is linear O(N) - "OKAY."
+   */
+
+  public void removeRange(int from, int to) {
+    if (from < 0 || to > this.length || from > to) {
+      throw new Error("Range outside of list range");
+    }
+
+    int count = to - from;
+
+    if (from < this.length - to) {
+      // Slide the values before the range forward over it and move the start
+      // of the list along with them.
+      System.arraycopy(this.memory, this.offset, this.memory, this.offset + count, from);
+      Arrays.fill(this.memory, this.offset, this.offset + count, null);
+      this.offset += count;
+    } else {
+      // Slide the values after the range back over it and stop storing the
+      // values that were left behind at the end.
+      System.arraycopy(this.memory, this.offset + to, this.memory, this.offset + from, this.length - to);
+      Arrays.fill(this.memory, this.offset + this.length - count, this.offset + this.length, null);
+    }
+
+    this.length -= count;
+    if (this.length == 0)
+      this.offset = 0;
+  }
+
+  /**
+   * With those two, all of the batched versions of push, pop, unshift and
+   * shift are just a matter of picking the right addresses.
+   */
+
+  public void pushAll(T[] values) {
+    this.insertRange(this.length, values);
+  }
+
+  public void unshiftAll(T[] values) {
+    this.insertRange(0, values);
+  }
+
+  /**
+   * Take up to "count" values off the end of the list, returned in the order
+   * they were in the list.
+   */
+
+  public T[] pop(int count) {
+    int start = this.length - Math.max(0, Math.min(count, this.length));
+    T[] values = Arrays.copyOfRange(this.memory, this.offset + start, this.offset + this.length);
+    this.removeRange(start, this.length);
+    return values;
+  }
+
+  /**
+   * Take up to "count" values off the start of the list.
+   */
+
+  public T[] shift(int count) {
+    int end = Math.max(0, Math.min(count, this.length));
+    T[] values = Arrays.copyOfRange(this.memory, this.offset, this.offset + end);
+    this.removeRange(0, end);
+    return values;
+  }
+
+  /**
+   * Both ends of our list need a way to make room. At the end that usually
+   * means growing our block of memory, but if most of the block is sitting
+   * unused in front of the list (because we shifted a lot of values off) we
+   * can just slide the list back to the start instead.
+   */
+
+  private void makeRoomAtEnd(int count) {
+    if (this.offset + this.length + count <= this.memory.length) {
+      return;
+    }
+
+    int needed = this.length + count;
+    T[] target = this.memory;
+    if (needed > this.memory.length / 2) {
+      target = this.allocate(needed);
+    }
+
+    System.arraycopy(this.memory, this.offset, target, 0, this.length);
+    if (target == this.memory) {
+      Arrays.fill(this.memory, Math.max(this.length, this.offset), this.offset + this.length, null);
+    }
+    this.memory = target;
+    this.offset = 0;
+  }
+
+  /**
+   * At the start we pick a new spot for the list with the spare memory split
+   * evenly in front of and behind it. Because the spare memory is always at
+   * least about as big as the list, the gap we leave in front pays for the
+   * slide.
+   */
+
+  private void makeRoomAtFront(int count) {
+    if (count <= this.offset) {
+      return;
+    }
+
+    int needed = this.length + count;
+    T[] target = this.memory;
+    if (needed > this.memory.length / 2) {
+      target = this.allocate(needed);
+    }
+
+    int newOffset = count + (target.length - needed) / 2;
+    System.arraycopy(this.memory, this.offset, target, newOffset, this.length);
+    if (target == this.memory) {
+      // We only ever move the values towards the end here, so whatever is left
+      // in front of the new offset is stale.
+      Arrays.fill(this.memory, this.offset, Math.min(newOffset, this.offset + this.length), null);
+    }
+    this.memory = target;
+    this.offset = newOffset;
+  }
+
+  private T[] allocate(int needed) {
+    int grown = (int) Math.min(Integer.MAX_VALUE - 8, (long) (this.memory.length * this.growthFactor) + 1);
+    return (T[]) Array.newInstance(this.memory.getClass().getComponentType(), Math.max(needed, grown));
+  }
 }
 
 /**
- * Lists are great for fast access and dealing with items at the end. However,
- * as we've seen it isn't great at dealing with items not at the end of the
- * list and we have to manually hold onto memory addresses.
+ * Lists are great for fast access and dealing with items at either end.
+ * However, as we've seen it isn't great at dealing with items in the middle of
+ * the list and we have to manually hold onto memory addresses.
  *
  * So let's take a look at a different data structure and how it deals with
  * adding, accessing, and removing values without needing to know memory
@@ -0,0 +1,206 @@
+package rocks.zipcode.ItsyBitsy;
+
+/**
+ * ItsyBitsyIntIntMap for 64-bit keys and values: timestamps, file offsets,
+ * ids that outgrew an int. Probing, the zero key and removal all work exactly
+ * the same way.
+ *
+ * The only new problem is the hash. Our memory only has room for about 2^30
+ * addresses, but a long has 64 bits, so all of them have to be squeezed into
+ * the few we keep (see "hash" below).
+ */
+
+public class ItsyBitsyLongLongMap {
+
+    /**
+     * Key 0 marks an empty slot, just like in ItsyBitsyIntIntMap.
+     */
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int threshold;
+
+    private boolean hasZeroKey = false;
+    private long zeroValue;
+
+    protected int length = 0;
+
+    private final long missingValue;
+
+    private static final int initialCapacity = 1024;
+    private static final int maximumCapacity = 1 << 30;
+    private static final double loadFactor = 0.75;
+
+    public ItsyBitsyLongLongMap() {
+        this(initialCapacity);
+    }
+
+    public ItsyBitsyLongLongMap(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * The "missing value" plays the part of null, as in ItsyBitsyIntIntMap.
+     * Long.MIN_VALUE is a good choice when -1 could be a real value.
+     */
+
+    public ItsyBitsyLongLongMap(int capacity, long missingValue) {
+        if (capacity < 0 || capacity > maximumCapacity) {
+            throw new Error("Capacity outside of hash table range: " + capacity);
+        }
+        this.missingValue = missingValue;
+        allocate(capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    /**
+     * The 64-bit finalizer from MurmurHash3. If we just kept the low bits,
+     * keys that only differ in their top half (like "day << 32 | hour") would
+     * all land on the same address. Mixing first lets every one of the 64
+     * bits move the address.
+     */
+
+    private static int hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private int find(long key) {
+        int address = hash(key) & this.mask;
+        while (true) {
+            if (this.keys[address] == key) return address;
+            if (this.keys[address] == 0) return -1;
+            address = (address + 1) & this.mask;
+        }
+    }
+
+    /**
+     * HashTable access is constant O(1) - "AWESOME!!"
+     */
+
+    public long get(long key) {
+        if (key == 0) {
+            return this.hasZeroKey ? this.zeroValue : this.missingValue;
+        }
+        int address = this.find(key);
+        return address < 0 ? this.missingValue : this.values[address];
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? this.hasZeroKey : this.find(key) >= 0;
+    }
+
+    /**
+     * Returns the value that was there before, or the missing value if there wasn't one.
+     *
+     * HashTable setting is constant O(1) "amortized" - "AWESOME!!"
+     */
+
+    public long set(long key, long value) {
+        if (key == 0) {
+            long previous = this.hasZeroKey ? this.zeroValue : this.missingValue;
+            if (!this.hasZeroKey) this.length++;
+            this.hasZeroKey = true;
+            this.zeroValue = value;
+            return previous;
+        }
+
+        int address = hash(key) & this.mask;
+        while (this.keys[address] != 0) {
+            if (this.keys[address] == key) {
+                long previous = this.values[address];
+                this.values[address] = value;
+                return previous;
+            }
+            address = (address + 1) & this.mask;
+        }
+
+        this.keys[address] = key;
+        this.values[address] = value;
+        this.length++;
+        if (this.length >= this.threshold) {
+            this.resize(this.keys.length * 2);
+        }
+        return this.missingValue;
+    }
+
+    /**
+     * Removing slides back every key after the hole whose home is at or before
+     * the hole, so no search ever stops early at it.
+     *
+     * HashTable deletion is constant O(1) - "AWESOME!!"
+     */
+
+    public long remove(long key) {
+        if (key == 0) {
+            if (!this.hasZeroKey) return this.missingValue;
+            long previous = this.zeroValue;
+            this.hasZeroKey = false;
+            this.zeroValue = 0;
+            this.length--;
+            return previous;
+        }
+
+        int gap = this.find(key);
+        if (gap < 0) {
+            return this.missingValue;
+        }
+        long removed = this.values[gap];
+
+        int next = (gap + 1) & this.mask;
+        while (this.keys[next] != 0) {
+            int home = hash(this.keys[next]) & this.mask;
+            // Only move the key back if the hole is on its way from home.
+            if (((next - home) & this.mask) >= ((next - gap) & this.mask)) {
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                gap = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+
+        this.keys[gap] = 0;
+        this.values[gap] = 0;
+        this.length--;
+        return removed;
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    private void resize(int capacity) {
+        // Doubling 1 << 30 wraps around to a negative number, so that's full too.
+        if (capacity <= 0 || capacity > maximumCapacity) {
+            throw new Error("Hash table is full");
+        }
+
+        long[] oldKeys = this.keys;
+        long[] oldValues = this.values;
+        this.allocate(capacity);
+
+        for (int address = 0; address < oldKeys.length; address++) {
+            long key = oldKeys[address];
+            if (key != 0) {
+                int slot = hash(key) & this.mask;
+                while (this.keys[slot] != 0) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.keys[slot] = key;
+                this.values[slot] = oldValues[address];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * loadFactor);
+    }
+}
@@ -0,0 +1,311 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Every hash table so far lives in the program's memory, so when the program
+ * stops the table is gone and the next run has to build it all over again.
+ *
+ * This one lives in a file instead. We ask the operating system to "map" the
+ * file into memory: reading and writing the mapped memory reads and writes
+ * the file, and the operating system only loads the parts of the file we
+ * actually touch, when we touch them. Opening a huge table again is instant.
+ *
+ * To make that work everything in the file has a fixed binary layout. Keys
+ * and values are both longs.
+ *
+ *     header (64 bytes)
+ *       0   magic        "ITSYBITS"
+ *       8   version      int
+ *       12  slot size    int
+ *       16  capacity     long
+ *       24  length       long
+ *       32  zero key?    long (0 or 1)
+ *       40  zero value   long
+ *
+ *     slots (16 bytes each, starting at 64)
+ *       0   key          long (0 means empty)
+ *       8   value        long
+ *
+ * Everything is little-endian so the file means the same thing on any
+ * machine.
+ */
+
+public class ItsyBitsyMappedHashTable implements AutoCloseable {
+
+    private static final long MAGIC = 0x5354494259535449L; // "ITSYBITS" read little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER = 64;
+    private static final int SLOT = 16;
+
+    private static final int LENGTH_OFFSET = 24;
+    private static final int HAS_ZERO_OFFSET = 32;
+    private static final int ZERO_VALUE_OFFSET = 40;
+
+    /**
+     * A single mapping can be at most 2GB, so a bigger file is mapped as a row
+     * of 1GB "regions". Slots are 16 bytes and the header is 64, so a slot
+     * never straddles two regions.
+     */
+
+    private static final int REGION_BITS = 30;
+    private static final long REGION_MASK = (1L << REGION_BITS) - 1;
+
+    private static final double loadFactor = 0.75;
+    private static final long maximumCapacity = 1L << 40;
+
+    private final RandomAccessFile file;
+    private MappedByteBuffer[] regions;
+    private final long capacity;
+    private final long mask;
+    private final long missingValue;
+
+    /**
+     * Opens the table in "path", creating it with room for "capacity" keys if
+     * the file doesn't exist yet. An existing file keeps the capacity it was
+     * created with.
+     *
+     * The capacity can't change later, so pick one with some room to spare.
+     */
+
+    public ItsyBitsyMappedHashTable(Path path, long capacity) throws IOException {
+        this(path, capacity, 0);
+    }
+
+    public ItsyBitsyMappedHashTable(Path path, long capacity, long missingValue) throws IOException {
+        this.file = new RandomAccessFile(path.toFile(), "rw");
+        this.missingValue = missingValue;
+
+        try {
+            boolean created = this.file.length() == 0;
+            if (created) {
+                if (capacity < 1 || capacity > maximumCapacity) {
+                    throw new Error("Capacity outside of hash table range: " + capacity);
+                }
+                // Enough slots to hold "capacity" keys below the load factor.
+                long slots = Long.highestOneBit((long) Math.ceil(capacity / loadFactor) * 2 - 1);
+                // The file is "sparse", untouched slots don't take up any disk.
+                this.file.setLength(HEADER + slots * SLOT);
+                this.map();
+                MappedByteBuffer header = this.regions[0];
+                header.putLong(0, MAGIC);
+                header.putInt(8, VERSION);
+                header.putInt(12, SLOT);
+                header.putLong(16, slots);
+                this.capacity = slots;
+            } else {
+                this.map();
+                MappedByteBuffer header = this.regions[0];
+                if (this.file.length() < HEADER || header.getLong(0) != MAGIC) {
+                    throw new IOException(path + " is not an ItsyBitsyMappedHashTable file");
+                }
+                if (header.getInt(8) != VERSION || header.getInt(12) != SLOT) {
+                    throw new IOException(path + " has an unsupported layout");
+                }
+                this.capacity = header.getLong(16);
+                if (Long.bitCount(this.capacity) != 1 || this.file.length() != HEADER + this.capacity * SLOT) {
+                    throw new IOException(path + " is truncated or corrupt");
+                }
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            this.file.close();
+            throw e;
+        }
+        this.mask = this.capacity - 1;
+    }
+
+    private void map() throws IOException {
+        FileChannel channel = this.file.getChannel();
+        long size = this.file.length();
+        int count = (int) ((size + REGION_MASK) >>> REGION_BITS);
+
+        this.regions = new MappedByteBuffer[count];
+        for (int region = 0; region < count; region++) {
+            long start = (long) region << REGION_BITS;
+            long length = Math.min(REGION_MASK + 1, size - start);
+            this.regions[region] = channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+            this.regions[region].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Reading and writing a long anywhere in the file: pick the region, then
+     * the position inside it.
+     */
+
+    private long read(long position) {
+        return this.regions()[(int) (position >>> REGION_BITS)].getLong((int) (position & REGION_MASK));
+    }
+
+    private void write(long position, long value) {
+        this.regions()[(int) (position >>> REGION_BITS)].putLong((int) (position & REGION_MASK), value);
+    }
+
+    private MappedByteBuffer[] regions() {
+        if (this.regions == null) {
+            throw new Error("Hash table is closed");
+        }
+        return this.regions;
+    }
+
+    private static long slot(long address) {
+        return HEADER + address * SLOT;
+    }
+
+    private static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        return key ^ (key >>> 33);
+    }
+
+    /**
+     * From here on it's the same linear probing as ItsyBitsyLongLongMap, just
+     * reading and writing the file instead of arrays. Key 0 marks an empty
+     * slot, so a real 0 key lives in the header.
+     */
+
+    private long find(long key) {
+        long address = hash(key) & this.mask;
+        while (true) {
+            long found = this.read(slot(address));
+            if (found == key) return address;
+            if (found == 0) return -1;
+            address = (address + 1) & this.mask;
+        }
+    }
+
+    /**
+     * HashTable access is constant O(1) - "AWESOME!!"
+     */
+
+    public long get(long key) {
+        if (key == 0) {
+            return this.read(HAS_ZERO_OFFSET) != 0 ? this.read(ZERO_VALUE_OFFSET) : this.missingValue;
+        }
+        long address = this.find(key);
+        return address < 0 ? this.missingValue : this.read(slot(address) + 8);
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? this.read(HAS_ZERO_OFFSET) != 0 : this.find(key) >= 0;
+    }
+
+    /**
+     * HashTable setting is constant O(1) - "AWESOME!!"
+     */
+
+    public long set(long key, long value) {
+        if (key == 0) {
+            long previous = this.get(0);
+            if (this.read(HAS_ZERO_OFFSET) == 0) {
+                this.write(HAS_ZERO_OFFSET, 1);
+                this.write(LENGTH_OFFSET, this.size() + 1);
+            }
+            this.write(ZERO_VALUE_OFFSET, value);
+            return previous;
+        }
+
+        long address = hash(key) & this.mask;
+        while (true) {
+            long found = this.read(slot(address));
+            if (found == key) {
+                long previous = this.read(slot(address) + 8);
+                this.write(slot(address) + 8, value);
+                return previous;
+            }
+            if (found == 0) break;
+            address = (address + 1) & this.mask;
+        }
+
+        long length = this.size();
+        if (length + 1 > (long) (this.capacity * loadFactor)) {
+            throw new Error("Hash table is full");
+        }
+
+        // Write the value before the key, so a crash in between never leaves a
+        // key pointing at a garbage value.
+        this.write(slot(address) + 8, value);
+        this.write(slot(address), key);
+        this.write(LENGTH_OFFSET, length + 1);
+        return this.missingValue;
+    }
+
+    /**
+     * HashTable deletion is constant O(1) - "AWESOME!!"
+     */
+
+    public long remove(long key) {
+        if (key == 0) {
+            if (this.read(HAS_ZERO_OFFSET) == 0) return this.missingValue;
+            long previous = this.read(ZERO_VALUE_OFFSET);
+            this.write(HAS_ZERO_OFFSET, 0);
+            this.write(ZERO_VALUE_OFFSET, 0);
+            this.write(LENGTH_OFFSET, this.size() - 1);
+            return previous;
+        }
+
+        long gap = this.find(key);
+        if (gap < 0) {
+            return this.missingValue;
+        }
+        long removed = this.read(slot(gap) + 8);
+
+        long next = (gap + 1) & this.mask;
+        while (true) {
+            long nextKey = this.read(slot(next));
+            if (nextKey == 0) break;
+            long home = hash(nextKey) & this.mask;
+            if (((next - home) & this.mask) >= ((next - gap) & this.mask)) {
+                this.write(slot(gap) + 8, this.read(slot(next) + 8));
+                this.write(slot(gap), nextKey);
+                gap = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+
+        this.write(slot(gap), 0);
+        this.write(slot(gap) + 8, 0);
+        this.write(LENGTH_OFFSET, this.size() - 1);
+        return removed;
+    }
+
+    public long size() {
+        return this.read(LENGTH_OFFSET);
+    }
+
+    public long capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Writes go to memory first and reach the disk whenever the operating
+     * system gets around to it. "force" makes sure everything written so far
+     * is really on the disk before it returns.
+     */
+
+    public void force() {
+        for (MappedByteBuffer region : this.regions()) {
+            region.force();
+        }
+    }
+
+    /**
+     * Closing forces everything to disk and lets go of the file.
+     */
+
+    @Override
+    public void close() throws IOException {
+        if (this.regions != null) {
+            this.force();
+            this.regions = null;
+            this.file.close();
+        }
+    }
+}
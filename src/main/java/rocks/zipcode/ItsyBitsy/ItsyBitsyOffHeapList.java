@@ -0,0 +1,211 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * ItsyBitsyList keeps references to objects, and the garbage collector has to
+ * visit every single one of them, over and over, to find out whether they are
+ * still in use. With tens of millions of tiny records that visiting is where
+ * all of our time goes.
+ *
+ * But if every record is just a handful of numbers with a fixed size, we don't
+ * need objects at all. We can ask for one big block of memory outside of the
+ * garbage collected heap ("off-heap") and lay the records out in it back to
+ * back, exactly like the list lays out values in its "memory".
+ *
+ *     layout: | timestamp (8) | id (4) |
+ *
+ *     memory: | t0 | id0 | t1 | id1 | t2 | id2 | ...
+ *             0         12        24        36
+ *
+ * The garbage collector sees one buffer object, no matter how many records
+ * are in it.
+ */
+
+public class ItsyBitsyOffHeapList implements AutoCloseable {
+
+    private final ItsyBitsyRecordLayout layout;
+    private final int recordSize;
+
+    private ByteBuffer memory;
+    protected int length = 0;
+
+    private static final int initialCapacity = 1024;
+    private static final double growthFactor = 1.5;
+
+    public ItsyBitsyOffHeapList(ItsyBitsyRecordLayout layout) {
+        this(layout, initialCapacity);
+    }
+
+    public ItsyBitsyOffHeapList(ItsyBitsyRecordLayout layout, int capacity) {
+        if (capacity < 0) {
+            throw new Error("Capacity must not be negative: " + capacity);
+        }
+        this.layout = layout;
+        this.recordSize = layout.size();
+        this.memory = allocate(capacity);
+    }
+
+    /**
+     * With a fixed size for every record, the address of a field is just
+     * arithmetic: which record, times the record size, plus the field offset.
+     *
+     * Access is constant O(1) - "AWESOME!!"
+     */
+
+    public long get(int address, int field) {
+        return this.read(this.position(address) + this.layout.offset(field), this.layout.width(field));
+    }
+
+    public void set(int address, int field, long value) {
+        this.write(this.position(address) + this.layout.offset(field), this.layout.width(field), value);
+    }
+
+    /**
+     * Reading a whole record copies its fields out into a long[].
+     */
+
+    public long[] get(int address) {
+        long[] values = new long[this.layout.fields()];
+        this.get(address, values);
+        return values;
+    }
+
+    public void get(int address, long[] into) {
+        if (into.length != this.layout.fields()) {
+            throw new Error("Expected " + this.layout.fields() + " fields but got " + into.length);
+        }
+        int position = this.position(address);
+        for (int field = 0; field < into.length; field++) {
+            into[field] = this.read(position + this.layout.offset(field), this.layout.width(field));
+        }
+    }
+
+    /**
+     * Pushing writes one value per field into the slot after the last record.
+     *
+     * Pushing a record to the end of the list is constant O(1) "amortized" -
+     * "AWESOME!!"
+     */
+
+    public void push(long... values) {
+        if (values.length != this.layout.fields()) {
+            throw new Error("Expected " + this.layout.fields() + " fields but got " + values.length);
+        }
+        this.ensureCapacity(this.length + 1);
+
+        int position = this.length * this.recordSize;
+        for (int field = 0; field < values.length; field++) {
+            this.write(position + this.layout.offset(field), this.layout.width(field), values[field]);
+        }
+        this.length++;
+    }
+
+    /**
+     * Popping hands back the fields of the last record. The bytes themselves
+     * don't need clearing, the next push simply writes over them.
+     */
+
+    public long[] pop() {
+        // Don't do anything if we don't have any items.
+        if (this.length == 0) return null;
+
+        long[] values = this.get(this.length - 1);
+        this.length--;
+        return values;
+    }
+
+    /**
+     * Growing works like ItsyBitsyList, except we copy bytes from the old
+     * buffer into a bigger one.
+     *
+     * Careful though: we can't free the old buffer ourselves. Its memory is
+     * only handed back once the garbage collector gets around to collecting
+     * it, and the garbage collector doesn't know how much off-heap memory it's
+     * sitting on. Grow a big list often enough and you can run out of direct
+     * memory ("OutOfMemoryError: Direct buffer memory") while the heap still
+     * looks empty. If you know how many records are coming, ask for them up
+     * front.
+     */
+
+    public void ensureCapacity(int minCapacity) {
+        ByteBuffer memory = this.memory();
+        if ((long) minCapacity * this.recordSize <= memory.capacity()) {
+            return;
+        }
+
+        long grown = (long) ((memory.capacity() / this.recordSize) * growthFactor) + 1;
+        // The buffer is limited in bytes, not records, so stop growing at the
+        // most records that fit. Asking for more than that still freaks out.
+        grown = Math.min(Integer.MAX_VALUE / this.recordSize, grown);
+        ByteBuffer bigger = allocate((int) Math.max(minCapacity, grown));
+        ByteBuffer used = memory.duplicate();
+        used.position(0).limit(this.length * this.recordSize);
+        bigger.put(used);
+        this.memory = bigger;
+    }
+
+    /**
+     * When we're done we drop our buffer, so its memory is handed back as soon
+     * as the buffer itself is collected, even if someone is still holding on to
+     * the list. Using the list after that is a mistake, so we freak out.
+     */
+
+    @Override
+    public void close() {
+        this.memory = null;
+        this.length = 0;
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    private ByteBuffer allocate(int records) {
+        long bytes = (long) records * this.recordSize;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new Error("Off-heap list can hold at most " + Integer.MAX_VALUE / this.recordSize + " records");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private ByteBuffer memory() {
+        if (this.memory == null) {
+            throw new Error("List is closed");
+        }
+        return this.memory;
+    }
+
+    private int position(int address) {
+        this.memory();
+        if (address < 0 || address >= this.length) {
+            throw new Error("Address outside of list range");
+        }
+        return address * this.recordSize;
+    }
+
+    private long read(int position, int width) {
+        switch (width) {
+            case 1: return this.memory.get(position);
+            case 2: return this.memory.getShort(position);
+            case 4: return this.memory.getInt(position);
+            default: return this.memory.getLong(position);
+        }
+    }
+
+    private void write(int position, int width, long value) {
+        switch (width) {
+            case 1: this.memory.put(position, (byte) value); break;
+            case 2: this.memory.putShort(position, (short) value); break;
+            case 4: this.memory.putInt(position, (int) value); break;
+            default: this.memory.putLong(position, value);
+        }
+    }
+}
+
+/**
+ * Fields narrower than 8 bytes are stored as signed numbers, so a value that
+ * doesn't fit in its width comes back truncated, just like casting a long to
+ * an int.
+ */
@@ -1,7 +1,10 @@
 package rocks.zipcode.ItsyBitsy;
 
-public class ItsyBitsyQueue<T> extends ItsyBitsyList<T> {
-    
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+public class ItsyBitsyQueue<T> {
+
 /**
  * Next, we're going to build a queue which is complementary to stacks. The
  * difference is that this time you remove items from the start of the queue
@@ -14,53 +17,419 @@ public class ItsyBitsyQueue<T> extends ItsyBitsyList<T> {
 
 
     /**
-     * Our queue is using an ItsyBitsyList rather than memory.
+     * If we backed our queue with a list, every "dequeue" would have to "shift"
+     * and slide every remaining item down by one. Instead we're going to go
+     * back to raw memory and let the start of the queue move.
+     *
+     * We keep two addresses: the "head" where the oldest item lives and the
+     * "tail" where the next item will go. When either of them runs off the end
+     * of our memory it wraps back around to the start, like a ring.
+     *
+     *        head        tail
+     *          ↓           ↓
+     *     [ _, a, b, c, d, _, _, _ ]
+     *
+     *              tail  head
+     *                ↓     ↓
+     *     [ f, g, h, _, _, c, d, e ]
+     *
+     * Nothing ever has to slide over, so both ends are constant O(1).
+     */
+
+    private T[] memory;
+    private int head = 0;
+    private int tail = 0;
+    protected int length = 0;
+
+    /**
+     * We keep the size of our memory a power of two. That means wrapping an
+     * address around is just "address & mask" instead of a division, which is
+     * a whole lot cheaper than "address % memory.length".
      */
-  
+
+    private int mask;
+
+    private static final int initialCapacity = 1024;
+    private static final int maximumCapacity = 1 << 30;
+    private static final double defaultGrowthFactor = 2.0;
+
+    /**
+     * Like ItsyBitsyList we grow by a "growth factor" when we run out of room.
+     * The ring has to stay a power of two though, so the grown size is always
+     * rounded up to the next one. Anything up to 2 means doubling, 3 or 4
+     * means quadrupling, and so on.
+     */
+
+    private final double growthFactor;
+
     public ItsyBitsyQueue(T clazz) {
-        super(clazz);
+        this(clazz, initialCapacity);
     }
-  
+
+    public ItsyBitsyQueue(T clazz, int capacity) {
+        this(clazz, capacity, defaultGrowthFactor);
+    }
+
+    public ItsyBitsyQueue(T clazz, int capacity, double growthFactor) {
+        if (capacity < 0 || capacity > maximumCapacity) {
+            throw new Error("Capacity outside of queue range: " + capacity);
+        }
+        if (!(growthFactor > 1.0)) {
+            throw new Error("Growth factor must be greater than 1: " + growthFactor);
+        }
+        int size = roundUp(capacity);
+        memory = (T[]) Array.newInstance(clazz.getClass(), size);
+        mask = size - 1;
+        this.growthFactor = growthFactor;
+    }
+
+    private static int roundUp(long capacity) {
+        if (capacity > maximumCapacity) {
+            return maximumCapacity;
+        }
+        return capacity <= 1 ? 1 : Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+
+    /**
+     * Make sure there is room for at least "minCapacity" items without having
+     * to grow again. The ring is rounded up to a power of two, so it may end
+     * up with a little more room than asked for.
+     */
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > maximumCapacity) {
+            throw new Error("Capacity outside of queue range: " + minCapacity);
+        }
+        if (minCapacity > this.memory.length) {
+            this.resize(roundUp(minCapacity));
+        }
+    }
+
+    /**
+     * And the opposite, give back memory we aren't using. The smallest ring
+     * that still holds every item is the next power of two up from the size.
+     */
+
+    public void trimToSize() {
+        int size = roundUp(this.length);
+        if (size < this.memory.length) {
+            this.resize(size);
+        }
+    }
+
     /**
      * Similar to stacks we're going to define two functions for adding and
      * removing items from the queue. The first is "enqueue".
      *
-     * This will push values to the end of the list.
+     * This will write the value at the tail and move the tail forward.
+     *
+     * Enqueueing is constant O(1) "amortized" - "AWESOME!!"
      */
-  
+
     public void enqueue(T value) {
-        this.push(value);
+        // If the ring is full we need a bigger one first.
+        if (this.length == this.memory.length) {
+            this.grow();
+        }
+
+        this.memory[this.tail] = value;
+        this.tail = (this.tail + 1) & this.mask;
+        this.length++;
     }
-  
+
     /**
      * Next is "dequeue", instead of removing the item from the end of the list,
-     * we're going to remove it from the start.
+     * we're going to remove it from the start by moving the head forward.
+     *
+     * Dequeueing is constant O(1) - "AWESOME!!"
      */
-  
+
     public T dequeue() {
       // Don't do anything if we don't have any items.
       if (this.length == 0) return null;
-  
-      // Shift the first item off the start of the list and return the value.
+
+      // Take the value at the head, stop storing it, and move the head along.
+      T value = this.memory[this.head];
+      this.memory[this.head] = null;
+      this.head = (this.head + 1) & this.mask;
       this.length--;
-      return (T) this.shift();
+
+      return value;
     }
-  
+
     /**
      * Same as stacks we're going to define a "peek" function for getting the next
      * value without removing it from the queue.
      */
-  
-     public T peek() {
-      return (T) this.memory[0];
+
+    public T peek() {
+      return this.length == 0 ? null : this.memory[this.head];
+    }
+
+    /**
+     * A queue is still a list underneath, so we keep the list's functions too.
+     * Item 0 is the oldest one, at the head, and every address is counted from
+     * there and wrapped around the ring.
+     *
+     * Queue access is constant O(1) - "AWESOME!!"
+     */
+
+    public T get(int address) {
+        if (address < 0 || address >= this.length) {
+            throw new Error("Address outside of queue range");
+        }
+        return this.memory[(this.head + address) & this.mask];
     }
-  
+
+    /**
+     * "push" and "shift" are just "enqueue" and "dequeue" by their list names.
+     */
+
+    public void push(T value) {
+        this.enqueue(value);
+    }
+
+    public T shift() {
+        return this.dequeue();
+    }
+
+    /**
+     * "pop" takes the newest item back off the tail, and "unshift" puts an item
+     * in front of the head. Both just move one end of the ring backwards.
+     *
+     * Both are constant O(1) - "AWESOME!!"
+     */
+
+    public T pop() {
+      // Don't do anything if we don't have any items.
+      if (this.length == 0) return null;
+
+      this.tail = (this.tail - 1) & this.mask;
+      T value = this.memory[this.tail];
+      this.memory[this.tail] = null;
+      this.length--;
+
+      return value;
+    }
+
+    public void unshift(T value) {
+        if (this.length == this.memory.length) {
+            this.grow();
+        }
+
+        this.head = (this.head - 1) & this.mask;
+        this.memory[this.head] = value;
+        this.length++;
+    }
+
+    /**
+     * Like ItsyBitsyList we can also add and remove many values at once. We
+     * make room for all of them first, so the ring grows at most one time.
+     *
+     * In the middle we still have to slide one side over to make a gap (or to
+     * close one), and like the list we pick the shorter side. Because the ring
+     * can start anywhere, sliding the front really does just move the head
+     * backwards. Either way, nothing ever slides more than half of the queue.
+     *
+     *     insertRange(1, [x, y])
+     *
+     *          head     tail               head              tail
+     *            ↓        ↓                  ↓                 ↓
+     *     [ _, _, a, b, c, _, _, _ ]   [ a, x, y, b, c, _, _, _ ]
+     *
+     * Inserting K values is linear O(min(address, N - address) + K) - "OKAY."
+     * At either end there's nothing to slide, so that's just O(K).
+     */
+
+    public void insertRange(int address, T[] values) {
+        if (address < 0 || address > this.length) {
+            throw new Error("Address outside of queue range");
+        }
+
+        int count = values.length;
+        this.makeRoom(count);
+
+        if (address < this.length - address) {
+            // Closer to the head, so move the head back by "count" and slide
+            // everything before the address back with it...
+            this.head = (this.head - count) & this.mask;
+            for (int i = 0; i < address; i++) {
+                this.memory[(this.head + i) & this.mask] = this.memory[(this.head + i + count) & this.mask];
+            }
+        } else {
+            // otherwise slide everything after the address towards the tail...
+            for (int i = this.length - 1; i >= address; i--) {
+                this.memory[(this.head + i + count) & this.mask] = this.memory[(this.head + i) & this.mask];
+            }
+            this.tail = (this.tail + count) & this.mask;
+        }
+
+        // and drop the new values into the gap we made.
+        this.write((this.head + address) & this.mask, values);
+        this.length += count;
+    }
+
+    /**
+     * Removing works the same way in reverse. We slide the shorter side over
+     * the range and stop storing the slots that were left behind.
+     *
+     * Removes the values from "from" (inclusive) to "to" (exclusive).
+     */
+
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > this.length || from > to) {
+            throw new Error("Range outside of queue range");
+        }
+
+        int count = to - from;
+
+        if (from < this.length - to) {
+            for (int i = from - 1; i >= 0; i--) {
+                this.memory[(this.head + i + count) & this.mask] = this.memory[(this.head + i) & this.mask];
+            }
+            this.clear(this.head, count);
+            this.head = (this.head + count) & this.mask;
+        } else {
+            for (int i = to; i < this.length; i++) {
+                this.memory[(this.head + i - count) & this.mask] = this.memory[(this.head + i) & this.mask];
+            }
+            this.tail = (this.tail - count) & this.mask;
+            this.clear(this.tail, count);
+        }
+
+        this.length -= count;
+    }
+
+    /**
+     * And the batched versions of push, pop, unshift and shift are just the
+     * ends of the queue. "enqueueAll" and "dequeue(count)" are the same thing
+     * by their queue names.
+     */
+
+    public void pushAll(T[] values) {
+        this.insertRange(this.length, values);
+    }
+
+    public void unshiftAll(T[] values) {
+        this.insertRange(0, values);
+    }
+
+    public void enqueueAll(T[] values) {
+        this.pushAll(values);
+    }
+
+    /**
+     * Take up to "count" values off the tail, returned in the order they were
+     * in the queue.
+     */
+
+    public T[] pop(int count) {
+        int start = this.length - Math.max(0, Math.min(count, this.length));
+        T[] values = this.read((this.head + start) & this.mask, this.length - start);
+        this.removeRange(start, this.length);
+        return values;
+    }
+
+    /**
+     * Take up to "count" values off the head, oldest first.
+     */
+
+    public T[] shift(int count) {
+        int end = Math.max(0, Math.min(count, this.length));
+        T[] values = this.read(this.head, end);
+        this.removeRange(0, end);
+        return values;
+    }
+
+    public T[] dequeue(int count) {
+        return this.shift(count);
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    int capacity() {
+        return this.memory.length;
+    }
+
+    /**
+     * When we run out of room we grow our memory. Because the items may have
+     * wrapped around, we copy them over in two pieces so that the oldest item
+     * ends up at address 0 again.
+     *
+     *         tail
+     *         head
+     *           ↓
+     *     [ e, f, c, d ]
+     *
+     *       head        tail
+     *         ↓           ↓
+     *     [ c, d, e, f, _, _, _, _ ]
+     */
+
+    private void grow() {
+        if (this.memory.length == maximumCapacity) {
+            throw new Error("Queue is full");
+        }
+        this.resize(roundUp(Math.max(this.memory.length + 1L, (long) Math.ceil(this.memory.length * this.growthFactor))));
+    }
+
+    private void makeRoom(int count) {
+        long needed = (long) this.length + count;
+        if (needed > maximumCapacity) {
+            throw new Error("Queue is full");
+        }
+        if (needed > this.memory.length) {
+            this.resize(roundUp(Math.max(needed, (long) Math.ceil(this.memory.length * this.growthFactor))));
+        }
+    }
+
+    /**
+     * Copying a run of values in or out of the ring is the same two pieces as
+     * "resize": up to the end of our memory, then whatever is left from the
+     * start.
+     */
+
+    private void write(int start, T[] values) {
+        int firstPiece = Math.min(values.length, this.memory.length - start);
+        System.arraycopy(values, 0, this.memory, start, firstPiece);
+        System.arraycopy(values, firstPiece, this.memory, 0, values.length - firstPiece);
+    }
+
+    private T[] read(int start, int count) {
+        T[] values = (T[]) Array.newInstance(this.memory.getClass().getComponentType(), count);
+        int firstPiece = Math.min(count, this.memory.length - start);
+        System.arraycopy(this.memory, start, values, 0, firstPiece);
+        System.arraycopy(this.memory, 0, values, firstPiece, count - firstPiece);
+        return values;
+    }
+
+    private void clear(int start, int count) {
+        int firstPiece = Math.min(count, this.memory.length - start);
+        Arrays.fill(this.memory, start, start + firstPiece, null);
+        Arrays.fill(this.memory, 0, count - firstPiece, null);
+    }
+
+    private void resize(int size) {
+        T[] resized = (T[]) Array.newInstance(this.memory.getClass().getComponentType(), size);
+        int firstPiece = Math.min(this.length, this.memory.length - this.head);
+        System.arraycopy(this.memory, this.head, resized, 0, firstPiece);
+        System.arraycopy(this.memory, 0, resized, firstPiece, this.length - firstPiece);
+
+        this.memory = resized;
+        this.mask = size - 1;
+        this.head = 0;
+        this.tail = this.length & this.mask;
+    }
+
 }
 
 /**
- * The important thing to note here is that because we used a list to back our
- * queue it inherits the performance of "shift" which is linear O(N) "OKAY."
+ * The important thing to note here is that by letting the start of the queue
+ * move instead of sliding every item over, both ends of our queue are constant
+ * O(1) "AWESOME!!"
  *
- * Later we'll see linked lists that will allow us to implement a much faster
+ * Later we'll see linked lists, which are another way to implement a fast
  * Queue.
  */
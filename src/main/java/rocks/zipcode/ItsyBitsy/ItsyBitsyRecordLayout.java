@@ -0,0 +1,85 @@
+package rocks.zipcode.ItsyBitsy;
+
+/**
+ * A record layout describes what one fixed-size record looks like in raw
+ * memory: how many bytes the whole record takes up, and for each field where
+ * it starts (its "offset") and how many bytes it uses (its "width").
+ *
+ *     timestamp: 8 bytes, id: 4 bytes, flags: 2 bytes
+ *
+ *     | timestamp               | id          | flags |
+ *     0  1  2  3  4  5  6  7    8  9  10 11   12 13
+ *
+ * Every field is a whole number: 1, 2, 4 or 8 bytes wide.
+ */
+
+public class ItsyBitsyRecordLayout {
+
+    private final int[] offsets;
+    private final int[] widths;
+    private final int size;
+
+    /**
+     * The easy way, give the widths in order and we pack them one after the
+     * other.
+     */
+
+    public ItsyBitsyRecordLayout(int... widths) {
+        this(packedSize(widths), packedOffsets(widths), widths);
+    }
+
+    /**
+     * Or spell out every offset yourself, for example to line fields up with a
+     * layout some other program already uses.
+     */
+
+    public ItsyBitsyRecordLayout(int size, int[] offsets, int[] widths) {
+        if (offsets.length != widths.length || widths.length == 0) {
+            throw new Error("Every field needs exactly one offset and one width");
+        }
+        for (int field = 0; field < widths.length; field++) {
+            int width = widths[field];
+            if (width != 1 && width != 2 && width != 4 && width != 8) {
+                throw new Error("Field width must be 1, 2, 4 or 8 bytes: " + width);
+            }
+            if (offsets[field] < 0 || offsets[field] + width > size) {
+                throw new Error("Field " + field + " does not fit in a " + size + " byte record");
+            }
+        }
+        this.size = size;
+        this.offsets = offsets.clone();
+        this.widths = widths.clone();
+    }
+
+    public int fields() {
+        return this.widths.length;
+    }
+
+    public int offset(int field) {
+        return this.offsets[field];
+    }
+
+    public int width(int field) {
+        return this.widths[field];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private static int packedSize(int[] widths) {
+        int size = 0;
+        for (int width : widths) {
+            size += width;
+        }
+        return size;
+    }
+
+    private static int[] packedOffsets(int[] widths) {
+        int[] offsets = new int[widths.length];
+        for (int field = 1; field < widths.length; field++) {
+            offsets[field] = offsets[field - 1] + widths[field - 1];
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,315 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Getting to a position in ItsyBitsyLinkedList means walking there one node at
+ * a time. A "skip list" adds express lanes on top of the linked list.
+ *
+ * Every node is in the bottom lane (level 0), which is just a linked list. About
+ * half of the nodes are also in the lane above, about a quarter in the one
+ * above that, and so on. To get somewhere we start in the top lane, go as far
+ * as we can without overshooting, drop down a lane, and repeat.
+ *
+ *     level 2:  head ---------------------------> 5 ----------------> end
+ *     level 1:  head ---------> 2 --------------> 5 ------> 7 ------> end
+ *     level 0:  head -> 1 ----> 2 -> 3 -> 4 ----> 5 -> 6 -> 7 -> 8 -> end
+ *
+ * Each lane skips about twice as far as the one below, so we only take a
+ * couple of steps per lane, and there are about log(N) lanes.
+ *
+ * To find *positions* each link also remembers its "width": how many positions
+ * it jumps. Walking along a lane we add up the widths, so we always know the
+ * position we're standing at.
+ *
+ * The list can also be kept sorted by a Comparator. Then "add(value)" puts the
+ * value where it belongs and "indexOf" searches for it by value, using the
+ * same express lanes.
+ */
+
+public class ItsyBitsySkipList<T> implements Iterable<T> {
+
+    class Node {
+        T value;
+        Node[] next;
+        int[] width;
+
+        Node(T value, int levels) {
+            this.value = value;
+            this.next = nodes(levels);
+            this.width = new int[levels];
+        }
+    }
+
+    // Java can't make an array of a generic class like Node directly, so we
+    // make a plain one and promise the compiler it only ever holds our Nodes.
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Node[] nodes(int length) {
+        return (Node[]) new ItsyBitsySkipList.Node[length];
+    }
+
+    private static final int maximumLevels = 32;
+
+    /**
+     * "head" stands just before position 0. A link with no node after it jumps
+     * to the "end", just after the last position.
+     */
+
+    private final Node head = new Node(null, maximumLevels);
+    private int levels = 1;
+    protected int length = 0;
+
+    private final Comparator<? super T> comparator;
+    private final Random random;
+
+    public ItsyBitsySkipList() {
+        this(null);
+    }
+
+    public ItsyBitsySkipList(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+        this.random = new Random();
+        this.head.width[0] = 1;
+    }
+
+    /**
+     * Flip a coin until it comes up tails. Each head puts the node one lane
+     * higher.
+     */
+
+    private int randomLevels() {
+        return Integer.numberOfTrailingZeros(this.random.nextInt() | (1 << (maximumLevels - 1))) + 1;
+    }
+
+    /**
+     * Skip list access is logarithmic O(log N) "expected" - "AWESOME!!"
+     */
+
+    public T get(int position) {
+        if (position < 0 || position >= this.length) {
+            throw new Error("Position outside of list range");
+        }
+
+        Node node = this.head;
+        int index = -1;
+        for (int level = this.levels - 1; level >= 0; level--) {
+            while (node.next[level] != null && index + node.width[level] <= position) {
+                index += node.width[level];
+                node = node.next[level];
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * Both adding and removing start the same way: in every lane, find the last
+     * node before the position ("before[level]") and remember its position
+     * ("at[level]").
+     */
+
+    private void findBefore(int position, Node[] before, int[] at) {
+        Node node = this.head;
+        int index = -1;
+        for (int level = this.levels - 1; level >= 0; level--) {
+            while (node.next[level] != null && index + node.width[level] < position) {
+                index += node.width[level];
+                node = node.next[level];
+            }
+            before[level] = node;
+            at[level] = index;
+        }
+    }
+
+    public void add(T value, int position) {
+        if (this.comparator != null) {
+            throw new Error("Cannot add by position to a sorted skip list");
+        }
+        if (position < 0 || position > this.length) {
+            throw new Error("Position outside of list range");
+        }
+
+        Node[] before = nodes(maximumLevels);
+        int[] at = new int[maximumLevels];
+        this.findBefore(position, before, at);
+        this.insert(value, position, before, at);
+    }
+
+    /**
+     * Splicing the new node in after "before[level]" in each of its lanes is
+     * just like ItsyBitsyLinkedList. We also split the width of the link we
+     * cut into two. Lanes above the new node just jump one position further.
+     *
+     * Skip list insertion is logarithmic O(log N) "expected" - "AWESOME!!"
+     */
+
+    private void insert(T value, int position, Node[] before, int[] at) {
+        int levels = this.randomLevels();
+
+        // A new lane starts as one long link from head straight to the end.
+        for (int level = this.levels; level < levels; level++) {
+            this.head.next[level] = null;
+            this.head.width[level] = this.length + 1;
+            before[level] = this.head;
+            at[level] = -1;
+        }
+        this.levels = Math.max(this.levels, levels);
+
+        Node node = new Node(value, levels);
+        for (int level = 0; level < this.levels; level++) {
+            Node prev = before[level];
+            if (level < levels) {
+                node.next[level] = prev.next[level];
+                node.width[level] = prev.width[level] - (position - at[level]) + 1;
+                prev.next[level] = node;
+                prev.width[level] = position - at[level];
+            } else {
+                prev.width[level]++;
+            }
+        }
+        this.length++;
+    }
+
+    /**
+     * Skip list deletion is logarithmic O(log N) "expected" - "AWESOME!!"
+     */
+
+    public T remove(int position) {
+        if (this.length == 0) {
+            throw new Error("Removing from empty list");
+        }
+        if (position < 0 || position >= this.length) {
+            throw new Error("Position outside of list range");
+        }
+
+        Node[] before = nodes(maximumLevels);
+        int[] at = new int[maximumLevels];
+        this.findBefore(position, before, at);
+
+        Node removed = before[0].next[0];
+        for (int level = 0; level < this.levels; level++) {
+            Node prev = before[level];
+            if (prev.next[level] == removed) {
+                prev.width[level] += removed.width[level] - 1;
+                prev.next[level] = removed.next[level];
+            } else {
+                prev.width[level]--;
+            }
+        }
+
+        // Drop any lanes that are now empty.
+        while (this.levels > 1 && this.head.next[this.levels - 1] == null) {
+            this.levels--;
+        }
+        this.length--;
+        return removed.value;
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    /**
+     * Sorted skip lists: the same walk, but we compare values instead of
+     * counting positions. We still add up the widths as we go, so we know the
+     * position of whatever we find.
+     *
+     * Returns the node we stopped at in the bottom lane. Its position ends up
+     * in "at[0]".
+     */
+
+    private Node findBefore(T value, Node[] before, int[] at, boolean inclusive) {
+        Node node = this.head;
+        int index = -1;
+        for (int level = this.levels - 1; level >= 0; level--) {
+            while (node.next[level] != null) {
+                int comparison = this.comparator.compare(node.next[level].value, value);
+                if (comparison > 0 || (comparison == 0 && !inclusive)) {
+                    break;
+                }
+                index += node.width[level];
+                node = node.next[level];
+            }
+            if (before != null) {
+                before[level] = node;
+            }
+            at[level] = index;
+        }
+        return node;
+    }
+
+    /**
+     * Adds "value" after any equal values already in the list.
+     */
+
+    public void add(T value) {
+        if (this.comparator == null) {
+            this.add(value, this.length);
+            return;
+        }
+
+        Node[] before = nodes(maximumLevels);
+        int[] at = new int[maximumLevels];
+        this.findBefore(value, before, at, true);
+        this.insert(value, at[0] + 1, before, at);
+    }
+
+    /**
+     * The position of the first value equal to "key", or -1 if there isn't
+     * one.
+     *
+     * Skip list search is logarithmic O(log N) "expected" - "AWESOME!!"
+     */
+
+    public int indexOf(T key) {
+        if (this.comparator == null) {
+            throw new Error("Cannot search an unsorted skip list by value");
+        }
+
+        // The node right after where we stopped is the first one that isn't
+        // smaller than "key". If it isn't equal either, "key" isn't there.
+        int[] at = new int[this.levels];
+        Node node = this.findBefore(key, null, at, false).next[0];
+        if (node != null && this.comparator.compare(node.value, key) == 0) {
+            return at[0] + 1;
+        }
+        return -1;
+    }
+
+    public boolean contains(T key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    public T removeKey(T key) {
+        int index = this.indexOf(key);
+        return index < 0 ? null : this.remove(index);
+    }
+
+    /**
+     * Walking the bottom lane visits every value in order.
+     *
+     * Walking is linear O(N) - "OKAY."
+     */
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Node next = ItsyBitsySkipList.this.head.next[0];
+
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            public T next() {
+                if (this.next == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = this.next.value;
+                this.next = this.next.next[0];
+                return value;
+            }
+        };
+    }
+}
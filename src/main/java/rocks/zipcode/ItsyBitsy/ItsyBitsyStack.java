@@ -1,6 +1,7 @@
 package rocks.zipcode.ItsyBitsy;
 
-import java.util.ArrayList;
+import java.lang.reflect.Array;
+import java.util.Arrays;
 
 /**
  * From this point going forward we are going to stop interacting directly with
@@ -53,25 +54,69 @@ public class ItsyBitsyStack<T> {
 
 
     /**
-     * We're going to again be backed by a JavaScript array, but this time it
-     * represents a arraylist like we implemented before rather than memory.
+     * We're going to go back to raw memory for this one, but instead of one big
+     * block we'll use a bunch of small blocks ("segments") of the same size.
+     *
+     *     segments: [ [a, b, c, d], [e, f, g, h], [i, j, _, _], null, ... ]
+     *                                                  ↑
+     *                                                length
+     *
+     * A stack that grows just grabs another segment, nothing has to be copied
+     * over. And a stack that shrinks can hand whole segments back, so a stack
+     * that was huge once doesn't hold on to all of that memory forever.
      */
 
+    private T[][] segments;
+    private int length = 0;
 
-        private ArrayList<T> list;
-        private int length = 0;
+    /**
+     * Segments are a power of two in size so that finding a value is just a
+     * shift and a mask instead of a division.
+     *
+     * They're fairly small by default, so a stack with only a handful of
+     * values in it doesn't pay for a big block. A stack that you know will be
+     * huge can ask for bigger segments, and grab fewer of them.
+     */
+
+    private final Class<?> type;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    private static final int initialCapacity = 1024;
+    private static final int defaultSegmentSize = 64;
 
-        private static final int initialCapacity = 1024;
+    /**
+     * "segments" itself (the "spine") is just an array of references to
+     * segments. The capacity tells us how long to make it up front, so the
+     * stack can hold that many values without ever copying the spine.
+     */
 
-        public ItsyBitsyStack(T clazz) {
+    private final int minimumSegments;
+
+    public ItsyBitsyStack(T clazz) {
         this(clazz, initialCapacity);
-        }
+    }
+
+    public ItsyBitsyStack(T clazz, int capacity) {
+        this(clazz, capacity, defaultSegmentSize);
+    }
 
-        public ItsyBitsyStack(T clazz, int capacity) {
-        list = new ArrayList<>(capacity);
+    public ItsyBitsyStack(T clazz, int capacity, int segmentSize) {
+        if (capacity < 0) {
+            throw new Error("Capacity must not be negative: " + capacity);
+        }
+        if (segmentSize < 1 || segmentSize > 1 << 30) {
+            throw new Error("Segment size outside of stack range: " + segmentSize);
         }
+        int size = segmentSize == 1 ? 1 : Integer.highestOneBit(segmentSize - 1) << 1;
+        type = clazz.getClass();
+        segmentShift = Integer.numberOfTrailingZeros(size);
+        segmentMask = size - 1;
+        minimumSegments = Math.max(4, (int) (((long) capacity + size - 1) >>> segmentShift));
+        segments = (T[][]) Array.newInstance(Array.newInstance(type, 0).getClass(), minimumSegments);
+    }
 
-        /**
+    /**
      * We're going to implement two of the functions from list's "push" and "pop"
      * which are going to be identical in terms of functionality.
      */
@@ -81,8 +126,19 @@ public class ItsyBitsyStack<T> {
      */
 
     public void push(T value) {
+        int segment = this.length >>> this.segmentShift;
+
+        // Make room for another segment if we've run out...
+        if (segment == this.segments.length) {
+            this.segments = Arrays.copyOf(this.segments, this.segments.length * 2);
+        }
+        // and allocate it if we don't already have it lying around.
+        if (this.segments[segment] == null) {
+            this.segments[segment] = (T[]) Array.newInstance(this.type, this.segmentMask + 1);
+        }
+
+        this.segments[segment][this.length & this.segmentMask] = value;
         this.length++;
-        this.list.add(value);
     }
 
     /**
@@ -93,9 +149,30 @@ public class ItsyBitsyStack<T> {
         // Don't do anything if we don't have any items.
         if (this.length == 0) return null;
 
-        // Pop the last item off the end of the list and return the value.
         this.length--;
-        return this.list.get(this.length);
+        int segment = this.length >>> this.segmentShift;
+        int address = this.length & this.segmentMask;
+
+        // Get the top value and stop storing it, so that it can be garbage
+        // collected once nobody else is using it.
+        T value = this.segments[segment][address];
+        this.segments[segment][address] = null;
+
+        // If we just emptied this segment, let go of the one above it. We keep
+        // the empty one around so that a stack bouncing up and down right at a
+        // segment boundary doesn't allocate a fresh segment on every push.
+        if (address == 0 && segment + 1 < this.segments.length) {
+            this.segments[segment + 1] = null;
+
+            // And once the spine is mostly empty references, halve it too. We
+            // wait until only a quarter is in use so that pushing right after
+            // doesn't have to double it straight back.
+            if (segment + 2 <= this.segments.length / 4 && this.segments.length / 2 >= this.minimumSegments) {
+                this.segments = Arrays.copyOf(this.segments, this.segments.length / 2);
+            }
+        }
+
+        return value;
     }
 
     /**
@@ -104,7 +181,31 @@ public class ItsyBitsyStack<T> {
      */
 
     public T peek() {
-        // Return the last item in "items" without removing it.
-        return this.list.get(this.length - 1);
+        if (this.length == 0) return null;
+
+        // Return the last item without removing it.
+        int top = this.length - 1;
+        return this.segments[top >>> this.segmentShift][top & this.segmentMask];
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    /**
+     * How many segments we are holding on to, mostly so we can check that a
+     * stack that shrinks really does give its memory back.
+     */
+
+    int spineLength() {
+        return this.segments.length;
+    }
+
+    int allocatedSegments() {
+        int count = 0;
+        for (T[] segment : this.segments) {
+            if (segment != null) count++;
+        }
+        return count;
     }
   }
@@ -0,0 +1,291 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * ItsyBitsyHashTable compares keys one slot at a time. That's quick when the
+ * key is there, but when it isn't (a "miss") we have to look at every slot
+ * until we can prove it's missing, and every look means fetching a key from
+ * somewhere else in memory and calling "equals" on it.
+ *
+ * This table, modelled on Google's "SwissTable", keeps a tiny summary of every
+ * slot in its own array of "control bytes":
+ *
+ *   - EMPTY      nothing has ever been here (since the last clean up)
+ *   - DELETED    something was here but was removed
+ *   - 0 to 127   a key is here, and these are 7 bits of its hash
+ *
+ * Control bytes are grouped 8 at a time, which is exactly one "long". With a
+ * few bit tricks we can check all 8 of them against the 7 bits we're looking
+ * for with a handful of instructions. Only when a control byte matches do we
+ * go and compare real keys, and with 7 bits that only happens by accident 1
+ * time in 128.
+ *
+ * So a miss usually costs one or two 8-byte reads and no "equals" at all.
+ */
+
+public class ItsyBitsySwissTable<K, V> {
+
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+
+    private static final int GROUP = 8;
+    private static final long LOWS = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private static final VarHandle GROUP_WORD =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private byte[] control;
+    private Object[] keys;
+    private Object[] values;
+    private int groupMask;
+
+    protected int length = 0;
+    private int deleted = 0;
+
+    private static final int initialCapacity = 1024;
+    private static final int maximumCapacity = 1 << 30;
+
+    public ItsyBitsySwissTable() {
+        this(initialCapacity);
+    }
+
+    public ItsyBitsySwissTable(int capacity) {
+        if (capacity < 0 || capacity > maximumCapacity) {
+            throw new Error("Capacity outside of hash table range: " + capacity);
+        }
+        allocate(capacity <= GROUP ? GROUP : Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    /**
+     * We split one well mixed hash into two parts: the high bits pick which
+     * group to start looking in, and the low 7 bits go in the control byte.
+     */
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Now the bit tricks. Say we're looking for the byte "h2" in a group.
+     *
+     * XOR the group with h2 copied into all 8 bytes. Bytes that matched are now
+     * zero. Subtracting 1 from a zero byte borrows and sets its top bit, which
+     * "& ~x" and "& HIGHS" then pick out. The result has the top bit set in
+     * every byte that matched.
+     *
+     * (Very occasionally a byte right after a real match looks like a match
+     * too. That's fine, we always compare the real key before we believe it.)
+     */
+
+    private static long matchByte(long group, int h2) {
+        long x = group ^ (LOWS * h2);
+        return (x - LOWS) & ~x & HIGHS;
+    }
+
+    /**
+     * EMPTY is 1000 0000 and DELETED is 1111 1110. Full slots always have a top
+     * bit of 0, so "has its top bit set" means "free", and "top bit set but
+     * bit 1 clear" means EMPTY.
+     */
+
+    private static long matchEmpty(long group) {
+        return group & (~group << 6) & HIGHS;
+    }
+
+    private static long matchFree(long group) {
+        return group & HIGHS;
+    }
+
+    private long group(int group) {
+        return (long) GROUP_WORD.get(this.control, group * GROUP);
+    }
+
+    /**
+     * Each match mask has one top bit per matching byte, so the slot is the
+     * position of the lowest set bit divided by 8.
+     */
+
+    private static int firstSlot(long matches) {
+        return Long.numberOfTrailingZeros(matches) >>> 3;
+    }
+
+    /**
+     * When a group has no room we move on to another group. We jump 1 group,
+     * then 2 more, then 3 more, ... which (because the number of groups is a
+     * power of two) visits every group exactly once before repeating.
+     */
+
+    private int find(Object key, int hash) {
+        int h2 = hash & 0x7F;
+        int group = (hash >>> 7) & this.groupMask;
+
+        for (int step = 1; ; step++) {
+            long word = this.group(group);
+
+            for (long matches = matchByte(word, h2); matches != 0; matches &= matches - 1) {
+                int address = group * GROUP + firstSlot(matches);
+                if (this.keys[address].equals(key)) {
+                    return address;
+                }
+            }
+
+            // Any EMPTY in the group means the key would have been put here,
+            // so it isn't in the table at all.
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+
+            group = (group + step) & this.groupMask;
+        }
+    }
+
+    /**
+     * HashTable access is constant O(1) - "AWESOME!!"
+     */
+
+    public V get(K key) {
+        int address = this.find(key, hash(key));
+        return address < 0 ? null : this.valueAt(address);
+    }
+
+    // Java can't make an array of V, so "values" is a plain Object[] and we
+    // promise the compiler that everything in it is one of our values.
+    @SuppressWarnings("unchecked")
+    private V valueAt(int address) {
+        return (V) this.values[address];
+    }
+
+    public boolean containsKey(K key) {
+        return this.find(key, hash(key)) >= 0;
+    }
+
+    /**
+     * To insert we take the first free slot (EMPTY or DELETED) along the same
+     * path "find" would walk.
+     *
+     * HashTable setting is constant O(1) "amortized" - "AWESOME!!"
+     */
+
+    public void set(K key, V value) {
+        if (key == null) {
+            throw new Error("Hash table keys cannot be null");
+        }
+
+        int hash = hash(key);
+        int address = this.find(key, hash);
+        if (address >= 0) {
+            this.values[address] = value;
+            return;
+        }
+
+        // We keep at least 1/8th of the slots EMPTY, otherwise misses would have
+        // to walk the whole table. DELETED slots count as used here because
+        // they don't stop a search.
+        if (this.length + this.deleted >= this.control.length - this.control.length / 8) {
+            this.rehash();
+        }
+
+        address = this.freeSlot(hash);
+        if (this.control[address] == DELETED) {
+            this.deleted--;
+        }
+        this.control[address] = (byte) (hash & 0x7F);
+        this.keys[address] = key;
+        this.values[address] = value;
+        this.length++;
+    }
+
+    private int freeSlot(int hash) {
+        int group = (hash >>> 7) & this.groupMask;
+
+        for (int step = 1; ; step++) {
+            long free = matchFree(this.group(group));
+            if (free != 0) {
+                return group * GROUP + firstSlot(free);
+            }
+            group = (group + step) & this.groupMask;
+        }
+    }
+
+    /**
+     * Removing usually has to leave a DELETED marker behind, because some key
+     * further along may have walked through this group while it was full. But
+     * if the group already has an EMPTY slot, nobody ever walked through it and
+     * we can go straight back to EMPTY.
+     *
+     * HashTable deletion is constant O(1) - "AWESOME!!"
+     */
+
+    public V remove(K key) {
+        int address = this.find(key, hash(key));
+        if (address < 0) {
+            return null;
+        }
+
+        V removed = this.valueAt(address);
+        this.keys[address] = null;
+        this.values[address] = null;
+
+        if (matchEmpty(this.group(address / GROUP)) != 0) {
+            this.control[address] = EMPTY;
+        } else {
+            this.control[address] = DELETED;
+            this.deleted++;
+        }
+        this.length--;
+        return removed;
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    /**
+     * When we run out of EMPTY slots we rebuild the table. If it's mostly
+     * DELETED markers, the same size will do once they're cleaned out.
+     * Otherwise we double it.
+     */
+
+    private void rehash() {
+        int capacity = this.control.length;
+        if (this.length >= capacity / 2) {
+            if (capacity == maximumCapacity) {
+                throw new Error("Hash table is full");
+            }
+            capacity *= 2;
+        }
+
+        Object[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+
+        this.allocate(capacity);
+        for (int address = 0; address < oldKeys.length; address++) {
+            if (oldKeys[address] != null) {
+                int hash = hash(oldKeys[address]);
+                int slot = this.freeSlot(hash);
+                this.control[slot] = (byte) (hash & 0x7F);
+                this.keys[slot] = oldKeys[address];
+                this.values[slot] = oldValues[address];
+            }
+        }
+        this.deleted = 0;
+    }
+
+    private void allocate(int capacity) {
+        this.control = new byte[capacity];
+        Arrays.fill(this.control, EMPTY);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.groupMask = capacity / GROUP - 1;
+    }
+}
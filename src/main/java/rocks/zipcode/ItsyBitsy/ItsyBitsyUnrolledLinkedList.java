@@ -0,0 +1,263 @@
+package rocks.zipcode.ItsyBitsy;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Every node in ItsyBitsyLinkedList holds exactly one value. So each value
+ * costs a whole node (an object header, a value, a "next" and a "prev") and
+ * walking the list means jumping to a different place in memory for every
+ * single value. The computer is much faster at reading values that sit next to
+ * each other, like in ItsyBitsyList.
+ *
+ * An "unrolled" linked list mixes the two: each node (a "chunk") holds a small
+ * array of values, and the chunks are linked together.
+ *
+ *     head -> [1, 2, 3, _] <-> [4, 5, _, _] <-> [6, 7, 8, 9] <- tail
+ *
+ * Walking the list is mostly walking arrays, and the node overhead is shared
+ * by a whole chunk of values instead of paid by each one.
+ *
+ * Chunks have room to spare, so adding in the middle only shuffles the values
+ * of one chunk. If that chunk is full we split it in two. Removing can leave
+ * chunks nearly empty, so we merge a chunk into its neighbour when they fit
+ * into one.
+ */
+
+public class ItsyBitsyUnrolledLinkedList<T> implements Iterable<T> {
+
+    class Chunk {
+        Object[] values;
+        int count = 0;
+        Chunk next;
+        Chunk prev;
+
+        Chunk() {
+            values = new Object[chunkSize];
+        }
+
+        // Only our own add methods ever write to "values", so whatever is in
+        // there really is a T.
+        @SuppressWarnings("unchecked")
+        T get(int offset) {
+            return (T) values[offset];
+        }
+    }
+
+    Chunk head;
+    Chunk tail;
+    int length = 0;
+
+    private static final int defaultChunkSize = 32;
+    private final int chunkSize;
+
+    public ItsyBitsyUnrolledLinkedList() {
+        this(defaultChunkSize);
+    }
+
+    public ItsyBitsyUnrolledLinkedList(int chunkSize) {
+        if (chunkSize < 2) {
+            throw new Error("Chunk size must be at least 2: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * To find a position we skip over whole chunks at a time, counting their
+     * values, until we reach the chunk it's in. Like ItsyBitsyLinkedList we
+     * start from whichever end is closer.
+     *
+     * Finding a position is linear O(N / chunk size) - "OKAY."
+     *
+     * "locate" hands back both the chunk and the offset inside it, so it
+     * returns them together in a "Location".
+     */
+
+    private final class Location {
+        final Chunk chunk;
+        final int offset;
+
+        Location(Chunk chunk, int offset) {
+            this.chunk = chunk;
+            this.offset = offset;
+        }
+    }
+
+    private Location locate(int position) {
+        if (position < this.length / 2) {
+            Chunk current = this.head;
+            while (position >= current.count) {
+                position -= current.count;
+                current = current.next;
+            }
+            return new Location(current, position);
+        } else {
+            Chunk current = this.tail;
+            int start = this.length - current.count;
+            while (position < start) {
+                current = current.prev;
+                start -= current.count;
+            }
+            return new Location(current, position - start);
+        }
+    }
+
+    public T get(int position) {
+        if (position < 0 || position >= this.length) {
+            throw new Error("Position outside of list range");
+        }
+        Location location = this.locate(position);
+        return location.chunk.get(location.offset);
+    }
+
+    public void add(T value, int position) {
+        if (position < 0 || position > this.length) {
+            throw new Error("Position outside of list range");
+        }
+
+        Chunk chunk;
+        int offset;
+        if (this.tail == null) {
+            chunk = this.tail = this.head = new Chunk();
+            offset = 0;
+        } else if (position == this.length) {
+            // Adding to the end is the common case, and needs no walk at all.
+            chunk = this.tail;
+            offset = chunk.count;
+        } else {
+            Location location = this.locate(position);
+            chunk = location.chunk;
+            offset = location.offset;
+        }
+
+        // Adding to the end of a full tail just starts a new chunk. Otherwise,
+        // no room? Split the chunk, moving its top half into a new chunk right
+        // after it, and carry on in whichever half the position is now in.
+        if (offset == this.chunkSize) {
+            chunk = this.insertAfter(chunk);
+            offset = 0;
+        } else if (chunk.count == this.chunkSize) {
+            Chunk split = this.insertAfter(chunk);
+            int half = this.chunkSize / 2;
+            System.arraycopy(chunk.values, half, split.values, 0, chunk.count - half);
+            for (int index = half; index < chunk.count; index++) {
+                chunk.values[index] = null;
+            }
+            split.count = chunk.count - half;
+            chunk.count = half;
+
+            if (offset > half) {
+                chunk = split;
+                offset -= half;
+            }
+        }
+
+        System.arraycopy(chunk.values, offset, chunk.values, offset + 1, chunk.count - offset);
+        chunk.values[offset] = value;
+        chunk.count++;
+        this.length++;
+    }
+
+    public T remove(int position) {
+        if (this.head == null) {
+            throw new Error("Removing from empty list");
+        }
+        if (position < 0 || position >= this.length) {
+            throw new Error("Position outside of list range");
+        }
+
+        Location location = this.locate(position);
+        Chunk chunk = location.chunk;
+        int offset = location.offset;
+
+        T removed = chunk.get(offset);
+        System.arraycopy(chunk.values, offset + 1, chunk.values, offset, chunk.count - offset - 1);
+        chunk.values[--chunk.count] = null;
+        this.length--;
+
+        // Once a chunk is less than half full we try to merge it with a
+        // neighbour, so chunks stay mostly full and memory stays small.
+        if (chunk.count == 0) {
+            this.unlink(chunk);
+        } else if (chunk.count < this.chunkSize / 2) {
+            if (chunk.next != null && chunk.count + chunk.next.count <= this.chunkSize) {
+                this.merge(chunk, chunk.next);
+            } else if (chunk.prev != null && chunk.prev.count + chunk.count <= this.chunkSize) {
+                this.merge(chunk.prev, chunk);
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return this.length;
+    }
+
+    /**
+     * Moves every value of "from" onto the end of "into" (the chunk right
+     * before it) and drops "from".
+     */
+
+    private void merge(Chunk into, Chunk from) {
+        System.arraycopy(from.values, 0, into.values, into.count, from.count);
+        into.count += from.count;
+        this.unlink(from);
+    }
+
+    private Chunk insertAfter(Chunk chunk) {
+        Chunk inserted = new Chunk();
+        inserted.prev = chunk;
+        inserted.next = chunk.next;
+        if (chunk.next == null) {
+            this.tail = inserted;
+        } else {
+            chunk.next.prev = inserted;
+        }
+        chunk.next = inserted;
+        return inserted;
+    }
+
+    private void unlink(Chunk chunk) {
+        if (chunk.prev == null) {
+            this.head = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            this.tail = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+    }
+
+    /**
+     * Walking the whole list only jumps to a new place in memory once per
+     * chunk, which is what makes it fast.
+     *
+     * Walking is linear O(N) - "OKAY."
+     */
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Chunk chunk = ItsyBitsyUnrolledLinkedList.this.head;
+            int offset = 0;
+
+            public boolean hasNext() {
+                return this.chunk != null && this.offset < this.chunk.count;
+            }
+
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T value = this.chunk.get(this.offset++);
+                if (this.offset == this.chunk.count) {
+                    this.chunk = this.chunk.next;
+                    this.offset = 0;
+                }
+                return value;
+            }
+        };
+    }
+}
@@ -16,4 +16,19 @@ public class ItsyBitsyBinarySearchTreeTest {
         assertEquals(value, result);  
     } 
     
+
+    @Test
+    public void TestAddContains(){
+		ItsyBitsyBinarySearchTree<Integer> tree = new ItsyBitsyBinarySearchTree<>();
+
+		for (int value : new int[] { 4, 2, 6, 1, 3, 5, 7 }) {
+			tree.add(value);
+		}
+
+		for (int value = 1; value <= 7; value++) {
+	        assertTrue(tree.contains(value));
+		}
+        assertFalse(tree.contains(0));
+        assertFalse(tree.contains(8));
+    }
 }
@@ -0,0 +1,75 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ItsyBitsyBloomFilterTest {
+
+    @Test
+    public void TestNoFalseNegatives(){
+		ItsyBitsyBloomFilter<Integer> filter = new ItsyBitsyBloomFilter<>(10_000, 0.01);
+
+		for (int i = 0; i < 10_000; i++) {
+			filter.add(i * 7);
+		}
+		for (int i = 0; i < 10_000; i++) {
+	        assertTrue(filter.mightContain(i * 7));
+		}
+    }
+
+    @Test
+    public void TestFalsePositiveRate(){
+		ItsyBitsyBloomFilter<String> filter = new ItsyBitsyBloomFilter<>(10_000, 0.01);
+
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("in" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("out" + i)) {
+				falsePositives++;
+			}
+		}
+        assertTrue("false positives: " + falsePositives, falsePositives < 2_000);
+
+		filter.clear();
+        assertFalse(filter.mightContain("in0"));
+    }
+
+    @Test
+    public void TestGraphFind(){
+		ItsyBitsyGraph<Integer> graph = new ItsyBitsyGraph<>();
+		Integer one = 1;
+		graph.addNode(one);
+		graph.useBloomFilter(100, 0.01);
+		Integer two = 2;
+		graph.addNode(two);
+		graph.addLine(one, two);
+
+        assertSame(two, graph.find(one).lines.get(0).value);
+        assertNull(graph.find(3));
+    }
+
+    @Test
+    public void TestHashTableGet(){
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0);
+		table.set(1, 10);
+		table.useBloomFilter(1000, 0.01);
+		for (int key = 2; key < 500; key++) {
+			table.set(key, key * 10);
+		}
+		table.remove(7);
+
+        assertEquals(Integer.valueOf(10), table.get(1));
+        assertEquals(Integer.valueOf(4990), table.get(499));
+        assertNull(table.get(7));
+        assertNull(table.get(-1));
+        assertNull(table.remove(-1));
+        assertEquals(498, table.size());
+    }
+
+    @Test(expected = Error.class)
+    public void TestBadRate(){
+		new ItsyBitsyBloomFilter<Integer>(100, 1.5);
+    }
+}
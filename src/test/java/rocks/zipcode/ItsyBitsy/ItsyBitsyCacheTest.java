@@ -0,0 +1,115 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+public class ItsyBitsyCacheTest {
+
+    @Test
+    public void TestLeastRecentlyUsed(){
+		ItsyBitsyCache<String, Integer> cache = new ItsyBitsyCache<>(3, ItsyBitsyCache.Policy.LRU);
+
+		cache.set("a", 1);
+		cache.set("b", 2);
+		cache.set("c", 3);
+		cache.get("a");
+		cache.set("d", 4);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(4), cache.get("d"));
+        assertEquals(1, cache.evictions());
+        assertEquals(3, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void TestTinyLfuSurvivesScan(){
+		ItsyBitsyCache<Integer, Integer> cache = new ItsyBitsyCache<>(100);
+
+		for (int round = 0; round < 5; round++) {
+			for (int key = 0; key < 50; key++) {
+				cache.get(key, k -> k);
+			}
+		}
+		// A long scan of keys we never ask for again.
+		for (int key = 1000; key < 11_000; key++) {
+			cache.get(key, k -> k);
+		}
+
+		long hits = cache.hits();
+		for (int key = 0; key < 50; key++) {
+			cache.get(key);
+		}
+
+        assertEquals(100, cache.size());
+        assertTrue(cache.hits() - hits >= 45);
+    }
+
+    @Test
+    public void TestLoadCountsOnce(){
+		ItsyBitsyCache<String, String> cache = new ItsyBitsyCache<>(100);
+
+		// A miss followed by the set that fills it is one request, not two.
+		cache.get("a", key -> "A");
+        assertEquals(1, cache.frequency("a"));
+		cache.get("a", key -> "A");
+        assertEquals(2, cache.frequency("a"));
+
+		// Setting without asking isn't a request at all.
+		cache.set("b", "B");
+        assertEquals(0, cache.frequency("b"));
+    }
+
+    @Test
+    public void TestExpiry(){
+		long[] now = { 0 };
+		ItsyBitsyCache<String, String> cache = new ItsyBitsyCache<>(10, ItsyBitsyCache.Policy.LRU,
+			Duration.ofSeconds(10), Duration.ofSeconds(3), () -> now[0]);
+
+		cache.set("write", "w");
+		cache.set("access", "a");
+
+		for (int second = 1; second <= 9; second++) {
+			now[0] = Duration.ofSeconds(second).toNanos();
+	        assertEquals("a", cache.get("access"));
+		}
+		now[0] = Duration.ofSeconds(10).toNanos();
+        assertNull(cache.get("access"));
+        assertNull(cache.get("write"));
+        assertEquals(0, cache.size());
+
+		cache.set("idle", "i");
+		now[0] += Duration.ofSeconds(5).toNanos();
+		cache.cleanUp();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void TestStaysBounded(){
+		Random random = new Random(0xcace);
+		for (ItsyBitsyCache.Policy policy : ItsyBitsyCache.Policy.values()) {
+			ItsyBitsyCache<Integer, Integer> cache = new ItsyBitsyCache<>(64, policy);
+			for (int i = 0; i < 50_000; i++) {
+				int key = random.nextInt(500);
+				if (random.nextInt(10) == 0) {
+					cache.remove(key);
+				} else {
+					Integer value = cache.get(key, k -> k * 2);
+			        assertEquals(Integer.valueOf(key * 2), value);
+				}
+		        assertTrue(cache.size() <= 64);
+			}
+	        assertEquals(64, cache.size());
+		}
+    }
+
+    @Test(expected = Error.class)
+    public void TestNullValue(){
+		new ItsyBitsyCache<String, String>(10).set("a", null);
+    }
+}
@@ -0,0 +1,85 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ItsyBitsyConcurrentHashTableTest {
+
+    @Test
+    public void TestSetGetRemove(){
+		ItsyBitsyConcurrentHashTable<String, Integer> table = new ItsyBitsyConcurrentHashTable<>(2);
+
+		assertNull(table.set("one", 1));
+		table.set("two", 2);
+        assertEquals(Integer.valueOf(2), table.set("two", 22));
+
+        assertEquals(Integer.valueOf(1), table.get("one"));
+        assertEquals(Integer.valueOf(22), table.get("two"));
+        assertEquals(2, table.size());
+        assertEquals(Integer.valueOf(1), table.remove("one"));
+        assertNull(table.get("one"));
+        assertNull(table.remove("one"));
+    }
+
+    @Test
+    public void TestGrowsWhileManyThreadsWrite() throws InterruptedException {
+		ItsyBitsyConcurrentHashTable<Integer, Integer> table = new ItsyBitsyConcurrentHashTable<>(2);
+		int threads = 8;
+		int perThread = 20000;
+		Thread[] workers = new Thread[threads];
+
+		// An assert that fails inside a worker thread only kills that thread,
+		// JUnit never sees it. So workers just remember the first thing that
+		// went wrong, and we check it after they've all finished.
+		AtomicReference<String> failure = new AtomicReference<>();
+
+		// Each thread owns its own keys: it sets them all, checks it can read
+		// them back, and removes every other one.
+		for (int t = 0; t < threads; t++) {
+			int first = t * perThread;
+			workers[t] = new Thread(() -> {
+				for (int key = first; key < first + perThread; key++) {
+					table.set(key, key);
+				}
+				for (int key = first; key < first + perThread; key++) {
+					if (!Integer.valueOf(key).equals(table.get(key))) {
+						failure.compareAndSet(null, "get " + key + " returned " + table.get(key));
+					}
+				}
+				for (int key = first; key < first + perThread; key += 2) {
+					Integer removed = table.remove(key);
+					if (!Integer.valueOf(key).equals(removed)) {
+						failure.compareAndSet(null, "remove " + key + " returned " + removed);
+					}
+				}
+			});
+		}
+		for (Thread worker : workers) worker.start();
+		for (Thread worker : workers) worker.join();
+
+        assertNull(failure.get());
+        assertEquals(threads * perThread / 2, table.size());
+		for (int key = 0; key < threads * perThread; key++) {
+	        assertEquals(key % 2 == 0 ? null : Integer.valueOf(key), table.get(key));
+		}
+    }
+
+    @Test
+    public void TestGrowsWithoutCollisions(){
+		ItsyBitsyConcurrentHashTable<Integer, Integer> table = new ItsyBitsyConcurrentHashTable<>(2);
+
+		// Keys that hardly ever share a bin only get their size checked now
+		// and then, but the table must still keep up with them.
+		for (int key = 0; key < 100_000; key++) {
+			table.set(key, key);
+		}
+
+        assertEquals(100_000, table.size());
+        assertTrue(table.capacity() >= 100_000);
+		for (int key = 0; key < 100_000; key += 997) {
+	        assertEquals(Integer.valueOf(key), table.get(key));
+		}
+    }
+}
@@ -0,0 +1,78 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ItsyBitsyConcurrentQueueTest {
+
+    @Test
+    public void TestEnqueueDequeue(){
+		ItsyBitsyConcurrentQueue<Integer> queue = new ItsyBitsyConcurrentQueue<>(4);
+
+		queue.enqueue(1);
+		queue.enqueue(2);
+
+        assertEquals(Integer.valueOf(1), queue.peek());
+        assertEquals(Integer.valueOf(1), queue.dequeue());
+        assertEquals(Integer.valueOf(2), queue.dequeue());
+        assertNull(queue.dequeue());
+        assertNull(queue.peek());
+    }
+
+    @Test
+    public void TestBounded() throws InterruptedException {
+		ItsyBitsyConcurrentQueue<Integer> queue = new ItsyBitsyConcurrentQueue<>(3);
+
+        assertEquals(4, queue.capacity());
+		for (int i = 0; i < 4; i++) {
+	        assertTrue(queue.offer(i));
+		}
+        assertFalse(queue.offer(4));
+        assertFalse(queue.offer(4, 1, TimeUnit.MILLISECONDS));
+        assertEquals(4, queue.size());
+
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertTrue(queue.offer(4));
+    }
+
+    @Test
+    public void TestTimedPollOnEmpty() throws InterruptedException {
+		ItsyBitsyConcurrentQueue<Integer> queue = new ItsyBitsyConcurrentQueue<>();
+
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void TestManyProducersAndConsumers() throws InterruptedException {
+		ItsyBitsyConcurrentQueue<Integer> queue = new ItsyBitsyConcurrentQueue<>(64);
+		int threads = 4;
+		int perThread = 20000;
+		AtomicLong sum = new AtomicLong();
+		Thread[] workers = new Thread[threads * 2];
+
+		for (int t = 0; t < threads; t++) {
+			workers[t] = new Thread(() -> {
+				try {
+					for (int i = 1; i <= perThread; i++) queue.put(i);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			workers[threads + t] = new Thread(() -> {
+				try {
+					for (int i = 0; i < perThread; i++) sum.addAndGet(queue.take());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		for (Thread worker : workers) worker.start();
+		for (Thread worker : workers) worker.join();
+
+        assertEquals((long) threads * perThread * (perThread + 1) / 2, sum.get());
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,138 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ItsyBitsyConcurrentSortedSetTest {
+
+    @Test
+    public void TestAgainstTreeSet(){
+		ItsyBitsyConcurrentSortedSet<Integer> set = new ItsyBitsyConcurrentSortedSet<>();
+		TreeSet<Integer> expected = new TreeSet<>();
+		Random random = new Random(0x5e7);
+
+		for (int i = 0; i < 20000; i++) {
+			Integer value = random.nextInt(500);
+			switch (random.nextInt(3)) {
+				case 0: assertEquals(expected.add(value), set.add(value)); break;
+				case 1: assertEquals(expected.remove(value), set.remove(value)); break;
+				default: assertEquals(expected.contains(value), set.contains(value));
+			}
+		}
+
+        assertEquals(expected.size(), set.size());
+		Iterator<Integer> values = set.iterator();
+		for (Integer value : expected) {
+	        assertEquals(value, values.next());
+		}
+        assertFalse(values.hasNext());
+    }
+
+    @Test
+    public void TestManyThreads() throws InterruptedException {
+		ItsyBitsyConcurrentSortedSet<Integer> set = new ItsyBitsyConcurrentSortedSet<>();
+		int threads = 8;
+		int perThread = 2000;
+		AtomicBoolean failed = new AtomicBoolean();
+		Thread[] workers = new Thread[threads];
+
+		// Each thread owns the values t, t + threads, t + 2 * threads, ... so it
+		// knows exactly what should be there, while all of them share the list.
+		for (int t = 0; t < threads; t++) {
+			int first = t;
+			workers[t] = new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					if (!set.add(first + i * threads)) failed.set(true);
+				}
+				for (int i = 0; i < perThread; i += 2) {
+					if (!set.remove(first + i * threads)) failed.set(true);
+				}
+				for (int i = 0; i < perThread; i++) {
+					if (set.contains(first + i * threads) != (i % 2 == 1)) failed.set(true);
+				}
+			});
+		}
+
+		// Walk the set over and over while it changes. Values must always come
+		// out in order.
+		AtomicBoolean done = new AtomicBoolean();
+		Thread walker = new Thread(() -> {
+			while (!done.get()) {
+				int last = -1;
+				for (Integer value : set) {
+					if (value <= last) failed.set(true);
+					last = value;
+				}
+			}
+		});
+
+		walker.start();
+		for (Thread worker : workers) worker.start();
+		for (Thread worker : workers) worker.join();
+		done.set(true);
+		walker.join();
+
+        assertFalse(failed.get());
+        assertEquals(threads * perThread / 2, set.size());
+    }
+
+    @Test
+    public void TestEmptyAndDuplicates(){
+		ItsyBitsyConcurrentSortedSet<String> set = new ItsyBitsyConcurrentSortedSet<>();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains("a"));
+        assertFalse(set.remove("a"));
+
+        assertTrue(set.add("b"));
+        assertFalse(set.add("b"));
+        assertTrue(set.add("a"));
+        assertTrue(set.remove("b"));
+        assertFalse(set.remove("b"));
+        assertFalse(set.contains("b"));
+        assertEquals(1, set.size());
+
+		// A removed value can come back.
+        assertTrue(set.add("b"));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    public void TestComparator(){
+		ItsyBitsyConcurrentSortedSet<String> set = new ItsyBitsyConcurrentSortedSet<>(String.CASE_INSENSITIVE_ORDER.reversed());
+
+		set.add("b");
+		set.add("C");
+		set.add("a");
+
+		// Equal by the comparator means already there.
+        assertFalse(set.add("A"));
+        assertTrue(set.contains("c"));
+
+		Iterator<String> values = set.iterator();
+        assertEquals("C", values.next());
+        assertEquals("b", values.next());
+        assertEquals("a", values.next());
+        assertFalse(values.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void TestIteratorPastTheEnd(){
+		ItsyBitsyConcurrentSortedSet<Integer> set = new ItsyBitsyConcurrentSortedSet<>();
+		set.add(1);
+		Iterator<Integer> values = set.iterator();
+		values.next();
+		values.next();
+    }
+
+    @Test(expected = Error.class)
+    public void TestNullValue(){
+		new ItsyBitsyConcurrentSortedSet<Integer>().add(null);
+    }
+}
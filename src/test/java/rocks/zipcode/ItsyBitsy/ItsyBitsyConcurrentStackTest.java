@@ -0,0 +1,51 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ItsyBitsyConcurrentStackTest {
+
+    @Test
+    public void TestPushPopPeek(){
+		ItsyBitsyConcurrentStack<Integer> stack = new ItsyBitsyConcurrentStack<>();
+
+		stack.push(1);
+		stack.push(2);
+
+        assertEquals(Integer.valueOf(2), stack.peek());
+        assertEquals(Integer.valueOf(2), stack.pop());
+        assertEquals(Integer.valueOf(1), stack.pop());
+        assertNull(stack.pop());
+        assertNull(stack.peek());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void TestManyThreads() throws InterruptedException {
+		ItsyBitsyConcurrentStack<Integer> stack = new ItsyBitsyConcurrentStack<>(2);
+		int threads = 8;
+		int perThread = 20000;
+		AtomicLong sum = new AtomicLong();
+		Thread[] workers = new Thread[threads];
+
+		// Every thread pushes and pops the same number of values, so every
+		// value pushed must come out exactly once.
+		for (int t = 0; t < threads; t++) {
+			workers[t] = new Thread(() -> {
+				for (int i = 1; i <= perThread; i++) {
+					stack.push(i);
+					Integer value;
+					while ((value = stack.pop()) == null) { }
+					sum.addAndGet(value);
+				}
+			});
+		}
+		for (Thread worker : workers) worker.start();
+		for (Thread worker : workers) worker.join();
+
+        assertEquals((long) threads * perThread * (perThread + 1) / 2, sum.get());
+        assertTrue(stack.isEmpty());
+    }
+}
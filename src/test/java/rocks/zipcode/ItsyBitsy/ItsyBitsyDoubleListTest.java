@@ -0,0 +1,40 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ItsyBitsyDoubleListTest {
+
+    @Test
+    public void TestPushPop(){
+		ItsyBitsyDoubleList list = new ItsyBitsyDoubleList(2);
+
+		for (int i = 0; i < 100; i++) {
+			list.push(i);
+		}
+
+        assertEquals(100, list.length);
+        assertEquals(42.0, list.get(42), 0.0);
+        assertEquals(99.0, list.pop(), 0.0);
+        assertEquals(99, list.length);
+    }
+
+    @Test
+    public void TestUnshiftShift(){
+		ItsyBitsyDoubleList list = new ItsyBitsyDoubleList(1);
+
+		list.unshift(1);
+		list.unshift(2);
+		list.push(3);
+
+        assertEquals(2.0, list.shift(), 0.0);
+        assertEquals(1.0, list.shift(), 0.0);
+        assertEquals(3.0, list.shift(), 0.0);
+        assertEquals(0, list.length);
+    }
+
+    @Test(expected = Error.class)
+    public void TestPopEmpty(){
+		new ItsyBitsyDoubleList().pop();
+    }
+}
@@ -2,6 +2,12 @@ package rocks.zipcode.ItsyBitsy;
 
 import static org.junit.Assert.*;  
 import org.junit.Test;  
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
   
 public class ItsyBitsyHashTableTest {  
   
@@ -16,4 +22,244 @@ public class ItsyBitsyHashTableTest {
         assertEquals(value, result);  
     } 
     
+
+    @Test
+    public void TestSetGetRemove(){
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0);
+
+		table.set(100000, 1);
+		table.set(7, 2);
+		table.set(7, 3);
+
+        assertEquals(Integer.valueOf(1), table.get(100000));
+        assertEquals(Integer.valueOf(3), table.get(7));
+        assertEquals(2, table.size());
+        assertEquals(Integer.valueOf(3), table.remove(7));
+        assertNull(table.get(7));
+        assertNull(table.remove(7));
+    }
+
+    @Test
+    public void TestCollidingKeysDoNotOverwrite(){
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0, 8, 0.75, false, ItsyBitsyHashTable.HashStrategy.FOLD);
+
+		// With FOLD, multiples of 1024 all land on the same home address in a small table.
+		for (int i = 0; i < 5; i++) {
+			table.set(i << 10, i);
+		}
+		for (int i = 0; i < 5; i++) {
+	        assertEquals(Integer.valueOf(i), table.get(i << 10));
+		}
+    }
+
+    @Test
+    public void TestBigTableProbesStayShort(){
+		ItsyBitsyHashTable<Integer> counting = new ItsyBitsyHashTable<>(0);
+		ItsyBitsyHashTable<Integer> strided = new ItsyBitsyHashTable<>(0);
+
+		// Both tables grow well past 65536 slots, so the home addresses need
+		// more than 16 bits of hash to spread out.
+		for (int i = 0; i < 200_000; i++) {
+			counting.set(i, i);
+			strided.set(i << 12, i);
+		}
+
+        assertEquals(200_000, counting.size());
+        assertEquals(Integer.valueOf(123_456), strided.get(123_456 << 12));
+        assertTrue(counting.diagnostics().maxProbeLength() < 32);
+        assertTrue(strided.diagnostics().maxProbeLength() < 32);
+    }
+
+    @Test
+    public void TestAgainstHashMap(){
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0, 2, 0.9);
+		HashMap<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(0xbeef);
+
+		for (int i = 0; i < 50000; i++) {
+			Integer key = random.nextInt(5000) << (random.nextBoolean() ? 10 : 0);
+			switch (random.nextInt(3)) {
+				case 0: assertEquals(expected.get(key), table.get(key)); break;
+				case 1: table.set(key, i); expected.put(key, i); break;
+				default: assertEquals(expected.remove(key), table.remove(key));
+			}
+	        assertEquals(expected.size(), table.size());
+		}
+		for (Integer key : expected.keySet()) {
+	        assertEquals(expected.get(key), table.get(key));
+		}
+    }
+
+    @Test
+    public void TestIncrementalResize(){
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0, 1024, 0.75, true);
+
+		for (int key = 0; key < 768; key++) {
+			table.set(key, key);
+		}
+        assertFalse(table.resizing());
+
+		// This set crosses the threshold but only starts the resize.
+		table.set(768, 768);
+        assertTrue(table.resizing());
+		for (int key = 0; key <= 768; key++) {
+	        assertEquals(Integer.valueOf(key), table.get(key));
+		}
+        assertFalse(table.resizing());
+        assertEquals(769, table.size());
+    }
+
+    @Test
+    public void TestIncrementalResizeStaysIncremental(){
+		// A small load factor leaves few sets before the next resize, so each
+		// one has to move more, but never the whole table at once.
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0, 2, 0.25, true);
+
+		long most = 0;
+		for (int key = 0; key < 100000; key++) {
+			long before = table.stepsTaken();
+			table.set(key, key);
+			most = Math.max(most, table.stepsTaken() - before);
+		}
+        assertTrue("moved " + most + " slots in one set", most <= 6);
+		for (int key = 0; key < 100000; key++) {
+	        assertEquals(Integer.valueOf(key), table.get(key));
+		}
+    }
+
+    @Test
+    public void TestIncrementalAgainstHashMap(){
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0, 2, 0.9, true);
+		HashMap<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(0x1ace);
+
+		for (int i = 0; i < 50000; i++) {
+			Integer key = random.nextInt(5000) << (random.nextBoolean() ? 10 : 0);
+			switch (random.nextInt(3)) {
+				case 0: assertEquals(expected.get(key), table.get(key)); break;
+				case 1: table.set(key, i); expected.put(key, i); break;
+				default: assertEquals(expected.remove(key), table.remove(key));
+			}
+	        assertEquals(expected.size(), table.size());
+		}
+		for (Integer key : expected.keySet()) {
+	        assertEquals(expected.get(key), table.get(key));
+		}
+    }
+
+    @Test
+    public void TestHashStrategies(){
+		for (ItsyBitsyHashTable.HashStrategy strategy : new ItsyBitsyHashTable.HashStrategy[] {
+				ItsyBitsyHashTable.HashStrategy.FOLD,
+				ItsyBitsyHashTable.HashStrategy.MURMUR }) {
+			ItsyBitsyHashTable<String> table = new ItsyBitsyHashTable<>("", strategy);
+			for (int i = 0; i < 2000; i++) {
+				table.set("key" + i, "value" + i);
+			}
+			for (int i = 0; i < 2000; i++) {
+		        assertEquals("value" + i, table.get("key" + i));
+			}
+	        assertEquals(2000, table.size());
+		}
+    }
+
+    @Test
+    public void TestBytesKeysCompareContents(){
+		ItsyBitsyHashTable<Object> table = new ItsyBitsyHashTable<>(new Object());
+		byte[] bytes = { 1, 2, 3 };
+
+		table.set(new ItsyBitsyHashTable.Bytes(bytes), "abc");
+		bytes[0] = 9;
+
+        assertEquals("abc", table.get(new ItsyBitsyHashTable.Bytes(new byte[] { 1, 2, 3 })));
+        assertNull(table.get(new ItsyBitsyHashTable.Bytes(bytes)));
+        assertNull(table.get(new ItsyBitsyHashTable.Bytes(new byte[] { 1, 2 })));
+        assertEquals("abc", table.remove(new ItsyBitsyHashTable.Bytes(new byte[] { 1, 2, 3 })));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void TestDiagnostics(){
+		ItsyBitsyHashTable<Integer> folded = new ItsyBitsyHashTable<>(0, ItsyBitsyHashTable.HashStrategy.FOLD);
+		ItsyBitsyHashTable<Integer> mixed = new ItsyBitsyHashTable<>(0, ItsyBitsyHashTable.HashStrategy.MURMUR);
+
+		// 65537 * i has the same two halves, so FOLD hashes every one of them to 0.
+		for (int i = 0; i < 300; i++) {
+			folded.set(65537 * i, i);
+			mixed.set(65537 * i, i);
+		}
+
+		ItsyBitsyHashTable.Diagnostics bad = folded.diagnostics();
+		ItsyBitsyHashTable.Diagnostics good = mixed.diagnostics();
+
+        assertEquals(299, bad.maxProbeLength());
+        assertEquals(1, bad.homeOccupancy[300]);
+        assertTrue(good.maxProbeLength() < 10);
+        assertTrue(good.averageProbeLength() < 1);
+
+		int keys = 0;
+		for (int count : good.probeLengths) {
+			keys += count;
+		}
+        assertEquals(300, keys);
+    }
+
+    @Test
+    public void TestIteration(){
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0, 16, 0.75, true);
+		HashMap<Integer, Integer> expected = new HashMap<>();
+		for (int key = 0; key < 1000; key++) {
+			table.set(key, -key);
+			expected.put(key, -key);
+		}
+		for (int key = 0; key < 1000; key += 3) {
+			table.remove(key);
+			expected.remove(key);
+		}
+
+		HashMap<Integer, Integer> seen = new HashMap<>();
+		for (Map.Entry<Integer, Integer> entry : table) {
+	        assertNull(seen.put(entry.getKey(), entry.getValue()));
+		}
+        assertEquals(expected, seen);
+
+		int keys = 0;
+		for (Iterator<Integer> iterator = table.keyIterator(); iterator.hasNext(); keys++) {
+			Integer key = iterator.next();
+	        assertEquals(expected.get(key), table.get(key));
+		}
+        assertEquals(expected.size(), keys);
+
+		long values = 0;
+		for (Iterator<Integer> iterator = table.valueIterator(); iterator.hasNext(); ) {
+			values += iterator.next();
+		}
+        assertEquals(expected.values().stream().mapToLong(Integer::longValue).sum(), values);
+    }
+
+    @Test
+    public void TestParallelStream(){
+		ItsyBitsyHashTable<Integer> table = new ItsyBitsyHashTable<>(0, 16, 0.75, true, ItsyBitsyHashTable.HashStrategy.MURMUR);
+		for (int key = 1; key <= 20_000; key++) {
+			table.set(key, key);
+		}
+
+        assertEquals(20_000, table.stream().count());
+        assertEquals(200_010_000L, table.parallelStream().mapToLong(entry -> entry.getValue()).sum());
+
+		Spliterator<Map.Entry<Integer, Integer>> high = table.spliterator();
+        assertTrue(high.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(20_000, high.getExactSizeIfKnown());
+
+		// After a split both halves only have a guess, so we count for real.
+		Spliterator<Map.Entry<Integer, Integer>> low = high.trySplit();
+        assertFalse(high.hasCharacteristics(Spliterator.SIZED));
+        assertFalse(low.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(-1, high.getExactSizeIfKnown());
+        assertEquals(-1, low.getExactSizeIfKnown());
+		long[] count = { 0 };
+		low.forEachRemaining(entry -> count[0]++);
+		high.forEachRemaining(entry -> count[0]++);
+        assertEquals(20_000, count[0]);
+    }
 }
@@ -0,0 +1,113 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class ItsyBitsyIntIntMapTest {
+
+    @Test
+    public void TestSetGetRemove(){
+		ItsyBitsyIntIntMap map = new ItsyBitsyIntIntMap(2, -1);
+
+        assertEquals(-1, map.get(7));
+        assertEquals(-1, map.set(7, 5));
+        assertEquals(5, map.set(7, 6));
+        assertEquals(6, map.get(7));
+        assertEquals(1, map.size());
+        assertEquals(6, map.remove(7));
+        assertEquals(-1, map.remove(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void TestZeroKey(){
+		ItsyBitsyIntIntMap map = new ItsyBitsyIntIntMap(2, -1);
+
+		// 0 marks an empty slot, so it must not look like it's already there.
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.get(0));
+        assertEquals(-1, map.remove(0));
+
+        assertEquals(-1, map.set(0, 10));
+        assertEquals(10, map.set(0, 11));
+        assertEquals(1, map.size());
+        assertEquals(11, map.get(0));
+        assertEquals(11, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void TestStoringTheMissingValue(){
+		ItsyBitsyIntIntMap map = new ItsyBitsyIntIntMap(16, -1);
+
+		map.set(3, -1);
+		map.set(0, -1);
+
+		// "get" can't tell these from missing keys, but "containsKey" can.
+        assertEquals(-1, map.get(3));
+        assertTrue(map.containsKey(3));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(4));
+        assertEquals(2, map.size());
+        assertEquals(-1, map.remove(3));
+        assertFalse(map.containsKey(3));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void TestCounting(){
+		ItsyBitsyIntIntMap counts = new ItsyBitsyIntIntMap();
+		int[] words = { 5, 0, 5, Integer.MIN_VALUE, -1, 5, 0 };
+
+		for (int word : words) {
+			counts.set(word, counts.get(word) + 1);
+		}
+
+        assertEquals(3, counts.get(5));
+        assertEquals(2, counts.get(0));
+        assertEquals(1, counts.get(Integer.MIN_VALUE));
+        assertEquals(1, counts.get(-1));
+        assertEquals(0, counts.get(6));
+        assertEquals(4, counts.size());
+    }
+
+    @Test
+    public void TestResizeWhileRemoving(){
+		ItsyBitsyIntIntMap map = new ItsyBitsyIntIntMap(2, -1);
+
+		// Every round the map grows past its threshold while half of what we
+		// put in before is being taken out again.
+		for (int key = 1; key <= 4000; key++) {
+			map.set(key, -key);
+			if (key % 2 == 0) {
+		        assertEquals(-key / 2, map.remove(key / 2));
+			}
+		}
+
+        assertEquals(2000, map.size());
+		for (int key = 1; key <= 4000; key++) {
+	        assertEquals(key > 2000 ? -key : -1, map.get(key));
+		}
+    }
+
+    @Test
+    public void TestAgainstHashMap(){
+		ItsyBitsyIntIntMap map = new ItsyBitsyIntIntMap(2, -1);
+		HashMap<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(0x1171);
+
+		for (int i = 0; i < 50000; i++) {
+			int key = random.nextInt(2000) << (random.nextBoolean() ? 20 : 0);
+			switch (random.nextInt(3)) {
+				case 0: assertEquals(expected.getOrDefault(key, -1).intValue(), map.get(key)); break;
+				case 1: map.set(key, i); expected.put(key, i); break;
+				default: assertEquals(expected.containsKey(key) ? expected.remove(key).intValue() : -1, map.remove(key));
+			}
+	        assertEquals(expected.size(), map.size());
+		}
+    }
+}
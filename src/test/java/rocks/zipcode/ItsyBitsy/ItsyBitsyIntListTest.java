@@ -0,0 +1,40 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ItsyBitsyIntListTest {
+
+    @Test
+    public void TestPushPop(){
+		ItsyBitsyIntList list = new ItsyBitsyIntList(2);
+
+		for (int i = 0; i < 100; i++) {
+			list.push(i);
+		}
+
+        assertEquals(100, list.length);
+        assertEquals(42, list.get(42));
+        assertEquals(99, list.pop());
+        assertEquals(99, list.length);
+    }
+
+    @Test
+    public void TestUnshiftShift(){
+		ItsyBitsyIntList list = new ItsyBitsyIntList(1);
+
+		list.unshift(1);
+		list.unshift(2);
+		list.push(3);
+
+        assertEquals(2, list.shift());
+        assertEquals(1, list.shift());
+        assertEquals(3, list.shift());
+        assertEquals(0, list.length);
+    }
+
+    @Test(expected = Error.class)
+    public void TestPopEmpty(){
+		new ItsyBitsyIntList().pop();
+    }
+}
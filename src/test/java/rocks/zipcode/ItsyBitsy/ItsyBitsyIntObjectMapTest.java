@@ -0,0 +1,84 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class ItsyBitsyIntObjectMapTest {
+
+    @Test
+    public void TestSetGetRemove(){
+		ItsyBitsyIntObjectMap<String> map = new ItsyBitsyIntObjectMap<>();
+
+        assertNull(map.get(-7));
+        assertNull(map.set(-7, "five"));
+        assertEquals("five", map.set(-7, "six"));
+		map.set(0, "zero");
+
+        assertEquals("six", map.get(-7));
+        assertEquals("zero", map.get(0));
+        assertEquals(2, map.size());
+        assertEquals("zero", map.remove(0));
+        assertEquals("six", map.remove(-7));
+        assertNull(map.remove(-7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void TestNullValues(){
+		ItsyBitsyIntObjectMap<String> map = new ItsyBitsyIntObjectMap<>(4);
+
+		map.set(9, null);
+		map.set(0, null);
+
+		// Stored nulls look missing to "get", so "containsKey" tells them apart.
+        assertNull(map.get(9));
+        assertTrue(map.containsKey(9));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(10));
+        assertEquals(2, map.size());
+
+        assertNull(map.set(9, "nine"));
+        assertEquals("nine", map.get(9));
+        assertNull(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void TestRemoveFromTheMiddleOfARun(){
+		ItsyBitsyIntObjectMap<Integer> map = new ItsyBitsyIntObjectMap<>(64);
+
+		// 40 keys in 64 slots make long runs. Removing from inside them has to
+		// slide the rest back, or later keys become unreachable.
+		for (int key = 1; key <= 40; key++) {
+			map.set(key * 64, key);
+		}
+		for (int key = 1; key <= 40; key += 3) {
+	        assertEquals(Integer.valueOf(key), map.remove(key * 64));
+		}
+		for (int key = 1; key <= 40; key++) {
+	        assertEquals((key - 1) % 3 == 0 ? null : Integer.valueOf(key), map.get(key * 64));
+		}
+    }
+
+    @Test
+    public void TestAgainstHashMap(){
+		ItsyBitsyIntObjectMap<String> map = new ItsyBitsyIntObjectMap<>(2);
+		HashMap<Integer, String> expected = new HashMap<>();
+		Random random = new Random(0x10b1);
+
+		for (int i = 0; i < 50000; i++) {
+			int key = random.nextInt(2000) - 1000;
+			String value = "v" + i;
+			switch (random.nextInt(3)) {
+				case 0: assertEquals(expected.get(key), map.get(key)); break;
+				case 1: map.set(key, value); expected.put(key, value); break;
+				default: assertEquals(expected.remove(key), map.remove(key));
+			}
+	        assertEquals(expected.size(), map.size());
+		}
+    }
+}
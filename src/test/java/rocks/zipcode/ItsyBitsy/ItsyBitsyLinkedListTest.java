@@ -2,6 +2,11 @@ package rocks.zipcode.ItsyBitsy;
 
 import static org.junit.Assert.*;  
 import org.junit.Test;  
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Random;
   
 public class ItsyBitsyLinkedListTest {  
   
@@ -15,5 +20,168 @@ public class ItsyBitsyLinkedListTest {
 		// Integer result = list.pop();
         assertEquals(value, result);  
     } 
-    
+
+    @Test
+    public void TestBothEnds(){
+		ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>();
+		list.addLast(2);
+		list.addFirst(1);
+		list.addLast(3);
+		list.add(9, 1);
+
+        assertEquals(4, list.size());
+        assertEquals(Integer.valueOf(1), list.get(0).value);
+        assertEquals(Integer.valueOf(9), list.get(1).value);
+        assertEquals(Integer.valueOf(3), list.get(3).value);
+        assertEquals(Integer.valueOf(3), list.removeLast());
+        assertEquals(Integer.valueOf(1), list.removeFirst());
+        assertEquals(Integer.valueOf(2), list.removeLast());
+        assertEquals(Integer.valueOf(9), list.removeFirst());
+        assertNull(list.head);
+        assertNull(list.tail);
+    }
+
+    @Test
+    public void TestIterator(){
+		ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>();
+		for (int i = 0; i < 10; i++) {
+			list.addLast(i);
+		}
+		for (Iterator<Integer> iterator = list.iterator(); iterator.hasNext(); ) {
+			if (iterator.next() % 2 == 0) {
+				iterator.remove();
+			}
+		}
+
+		int expected = 1;
+		for (Integer value : list) {
+	        assertEquals(Integer.valueOf(expected), value);
+			expected += 2;
+		}
+        assertEquals(5, list.size());
+        assertEquals(Integer.valueOf(9), list.tail.value);
+    }
+
+    @Test
+    public void TestAgainstLinkedList(){
+		ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>();
+		LinkedList<Integer> expected = new LinkedList<>();
+		Random random = new Random(0x11d);
+
+		for (int i = 0; i < 20000; i++) {
+			int position = random.nextInt(expected.size() + 1);
+			if (expected.isEmpty() || random.nextInt(3) > 0) {
+				list.add(i, position);
+				expected.add(position, i);
+			} else {
+				position = Math.min(position, expected.size() - 1);
+		        assertEquals(expected.remove(position), list.remove(position));
+			}
+	        assertEquals(expected.size(), list.size());
+		}
+		for (int position = 0; position < expected.size(); position++) {
+	        assertEquals(expected.get(position), list.get(position).value);
+		}
+    }
+
+    @Test
+    public void TestNodePool(){
+		ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>(16);
+		for (int i = 0; i < 16; i++) {
+			list.addLast(i);
+		}
+        assertEquals(16, list.allocations());
+
+		// Steady churn reuses removed nodes, so nothing new is made.
+		for (int i = 0; i < 10000; i++) {
+			list.removeFirst();
+			list.add(i, list.size() / 2);
+		}
+        assertEquals(16, list.allocations());
+        assertEquals(16, list.size());
+
+		ItsyBitsyLinkedList<Integer> unpooled = new ItsyBitsyLinkedList<>();
+		for (int i = 0; i < 100; i++) {
+			unpooled.addFirst(i);
+			unpooled.removeLast();
+		}
+        assertEquals(100, unpooled.allocations());
+    }
+
+    @Test
+    public void TestPooledAgainstLinkedList(){
+		ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>(8);
+		LinkedList<Integer> expected = new LinkedList<>();
+		Random random = new Random(0x9001);
+
+		for (int i = 0; i < 20000; i++) {
+			int position = random.nextInt(expected.size() + 1);
+			if (expected.isEmpty() || random.nextBoolean()) {
+				list.add(i, position);
+				expected.add(position, i);
+			} else {
+				position = Math.min(position, expected.size() - 1);
+		        assertEquals(expected.remove(position), list.remove(position));
+			}
+		}
+		Iterator<Integer> values = list.iterator();
+		for (Integer value : expected) {
+	        assertEquals(value, values.next());
+		}
+        assertFalse(values.hasNext());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void TestIteratorFailsFastAfterRemove(){
+		ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>(4);
+		for (int i = 0; i < 5; i++) {
+			list.addLast(i);
+		}
+
+		// The iterator is about to step onto node 1. Removing it puts it in the
+		// pool, and the add right after hands it out again at the other end.
+		Iterator<Integer> iterator = list.iterator();
+        assertEquals(Integer.valueOf(0), iterator.next());
+		list.remove(1);
+		list.addFirst(99);
+		iterator.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void TestIteratorFailsFastAfterAdd(){
+		ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>();
+		list.addLast(1);
+		list.addLast(2);
+
+		Iterator<Integer> iterator = list.iterator();
+		iterator.next();
+		list.add(3, 1);
+		iterator.remove();
+    }
+
+    @Test
+    public void TestTwoIteratorsRemoving(){
+		ItsyBitsyLinkedList<Integer> list = new ItsyBitsyLinkedList<>(4);
+		for (int i = 0; i < 4; i++) {
+			list.addLast(i);
+		}
+
+		Iterator<Integer> first = list.iterator();
+		Iterator<Integer> second = list.iterator();
+		first.next();
+		first.remove();
+        assertEquals(Integer.valueOf(1), first.next());
+
+		try {
+			second.next();
+			fail("second iterator should have noticed the removal");
+		} catch (ConcurrentModificationException expected) {
+		}
+        assertEquals(3, list.size());
+    }
+
+    @Test(expected = Error.class)
+    public void TestRemoveFromEmpty(){
+		new ItsyBitsyLinkedList<Integer>().removeLast();
+    }
 }
@@ -2,6 +2,9 @@ package rocks.zipcode.ItsyBitsy;
 
 import static org.junit.Assert.*;  
 import org.junit.Test;  
+
+import java.util.ArrayList;
+import java.util.Random;
   
 public class ItsyBitsyListTest {  
   
@@ -27,4 +30,141 @@ public class ItsyBitsyListTest {
         //result = list.shift();
         assertEquals(value, result);  
     }  
-}  
\ No newline at end of file
+
+    @Test
+    public void TestPushPastInitialCapacity(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0);
+
+		for (int i = 0; i < 5000; i++) {
+			list.push(i);
+		}
+
+        assertEquals(5000, list.length);
+        assertEquals(Integer.valueOf(4999), list.get(4999));
+        assertEquals(Integer.valueOf(4999), list.pop());
+    }
+
+    @Test
+    public void TestUnshiftGrows(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0, 2);
+
+		list.unshift(1);
+		list.unshift(2);
+		list.unshift(3);
+
+        assertEquals(Integer.valueOf(3), list.shift());
+        assertEquals(Integer.valueOf(2), list.shift());
+        assertEquals(Integer.valueOf(1), list.shift());
+    }
+
+    @Test
+    public void TestEnsureCapacityAndTrimToSize(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0, 4, 2.0);
+
+		list.ensureCapacity(100);
+        assertTrue(list.memory.length >= 100);
+
+		list.push(7);
+		list.trimToSize();
+        assertEquals(1, list.memory.length);
+        assertEquals(Integer.valueOf(7), list.get(0));
+
+		list.push(8);
+        assertEquals(Integer.valueOf(8), list.get(1));
+    }
+
+    @Test(expected = Error.class)
+    public void TestGrowthFactorMustGrow(){
+		new ItsyBitsyList<>(0, 4, 1.0);
+    }
+
+    @Test
+    public void TestBulkPushAndUnshift(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0, 2);
+
+		list.pushAll(new Integer[] { 3, 4 });
+		list.unshiftAll(new Integer[] { 1, 2 });
+		list.insertRange(2, new Integer[] { 9, 9, 9 });
+
+        assertEquals(7, list.length);
+        assertArrayEquals(new Integer[] { 1, 2, 9, 9, 9, 3, 4 }, list.shift(100));
+        assertEquals(0, list.length);
+    }
+
+    @Test
+    public void TestBulkShiftPopAndRemoveRange(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0);
+		list.pushAll(new Integer[] { 0, 1, 2, 3, 4, 5, 6, 7 });
+
+		list.removeRange(2, 4);
+        assertArrayEquals(new Integer[] { 0, 1 }, list.shift(2));
+        assertArrayEquals(new Integer[] { 6, 7 }, list.pop(2));
+        assertArrayEquals(new Integer[] { 4, 5 }, list.pop(5));
+        assertNull(list.memory[0]);
+        assertNull(list.pop());
+    }
+
+    @Test(expected = Error.class)
+    public void TestInsertRangeOutsideList(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0);
+		list.insertRange(1, new Integer[] { 1 });
+    }
+
+    @Test(expected = Error.class)
+    public void TestGetShiftedAddress(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0);
+		list.pushAll(new Integer[] { 1, 2, 3 });
+		list.shift();
+		// Before the shift there was an item at address 2.
+		list.get(2);
+    }
+
+    @Test
+    public void TestShiftDoesNotSlide(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0);
+		list.pushAll(new Integer[] { 1, 2, 3 });
+
+		list.shift();
+
+        assertEquals(1, list.offset);
+        assertEquals(Integer.valueOf(2), list.get(0));
+        assertEquals(Integer.valueOf(3), list.get(1));
+    }
+
+    @Test
+    public void TestBothEndsAgainstArrayList(){
+		ItsyBitsyList<Integer> list = new ItsyBitsyList<>(0, 1);
+		ArrayList<Integer> expected = new ArrayList<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 20000; i++) {
+			switch (random.nextInt(6)) {
+				case 0: list.push(i); expected.add(i); break;
+				case 1: list.unshift(i); expected.add(0, i); break;
+				case 2: assertEquals(expected.isEmpty() ? null : expected.remove(expected.size() - 1), list.pop()); break;
+				case 3: assertEquals(expected.isEmpty() ? null : expected.remove(0), list.shift()); break;
+				case 4:
+					int at = random.nextInt(expected.size() + 1);
+					list.insertRange(at, new Integer[] { i, -i });
+					expected.add(at, -i);
+					expected.add(at, i);
+					break;
+				default:
+					int from = random.nextInt(expected.size() + 1);
+					int to = from + random.nextInt(expected.size() - from + 1);
+					list.removeRange(from, to);
+					expected.subList(from, to).clear();
+			}
+	        assertEquals(expected.size(), list.length);
+		}
+		for (int i = 0; i < expected.size(); i++) {
+	        assertEquals(expected.get(i), list.get(i));
+		}
+		// Nothing outside of the list should still be holding on to values.
+		int stored = 0;
+		for (Integer value : list.memory) {
+			if (value != null) stored++;
+		}
+        assertEquals(expected.size(), stored);
+    }
+}
@@ -0,0 +1,40 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ItsyBitsyLongListTest {
+
+    @Test
+    public void TestPushPop(){
+		ItsyBitsyLongList list = new ItsyBitsyLongList(2);
+
+		for (int i = 0; i < 100; i++) {
+			list.push(i);
+		}
+
+        assertEquals(100, list.length);
+        assertEquals(42L, list.get(42));
+        assertEquals(99L, list.pop());
+        assertEquals(99, list.length);
+    }
+
+    @Test
+    public void TestUnshiftShift(){
+		ItsyBitsyLongList list = new ItsyBitsyLongList(1);
+
+		list.unshift(1);
+		list.unshift(2);
+		list.push(3);
+
+        assertEquals(2L, list.shift());
+        assertEquals(1L, list.shift());
+        assertEquals(3L, list.shift());
+        assertEquals(0, list.length);
+    }
+
+    @Test(expected = Error.class)
+    public void TestPopEmpty(){
+		new ItsyBitsyLongList().pop();
+    }
+}
@@ -0,0 +1,81 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class ItsyBitsyLongLongMapTest {
+
+    @Test
+    public void TestSetGetRemove(){
+		ItsyBitsyLongLongMap map = new ItsyBitsyLongLongMap(2, Long.MIN_VALUE);
+
+        assertEquals(Long.MIN_VALUE, map.get(1L << 40));
+        assertEquals(Long.MIN_VALUE, map.set(1L << 40, -1));
+        assertEquals(-1, map.set(1L << 40, 6));
+		map.set(0, -5);
+
+        assertEquals(6, map.get(1L << 40));
+        assertEquals(-5, map.get(0));
+        assertEquals(2, map.size());
+        assertEquals(-5, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(6, map.remove(1L << 40));
+        assertEquals(Long.MIN_VALUE, map.remove(1L << 40));
+    }
+
+    @Test
+    public void TestKeysThatOnlyDifferAtTheTop(){
+		ItsyBitsyLongLongMap map = new ItsyBitsyLongLongMap(2, -1);
+
+		// The low 32 bits of every key are the same, so only the mix keeps
+		// them apart. They're also equal to a key that fits in an int.
+		for (long day = 0; day < 1000; day++) {
+			map.set(day << 32 | 7, day);
+		}
+		map.set(7, 123);
+
+        assertEquals(1000, map.size());
+        assertEquals(123, map.get(7));
+		for (long day = 1; day < 1000; day++) {
+	        assertEquals(day, map.get(day << 32 | 7));
+		}
+        assertEquals(-1, map.get(1000L << 32 | 7));
+    }
+
+    @Test
+    public void TestResizeWhileRemoving(){
+		ItsyBitsyLongLongMap map = new ItsyBitsyLongLongMap(2, -1);
+
+		for (long key = 1; key <= 4000; key++) {
+			map.set(key * 1_000_003L, key);
+			if (key % 2 == 0) {
+		        assertEquals(key / 2, map.remove(key / 2 * 1_000_003L));
+			}
+		}
+
+        assertEquals(2000, map.size());
+        assertFalse(map.containsKey(2000 * 1_000_003L));
+        assertTrue(map.containsKey(2001 * 1_000_003L));
+    }
+
+    @Test
+    public void TestAgainstHashMap(){
+		ItsyBitsyLongLongMap map = new ItsyBitsyLongLongMap(2, -1);
+		HashMap<Long, Long> expected = new HashMap<>();
+		Random random = new Random(0x1161);
+
+		for (int i = 0; i < 50000; i++) {
+			long key = (long) random.nextInt(2000) << (random.nextBoolean() ? 40 : 0);
+			long value = i;
+			switch (random.nextInt(3)) {
+				case 0: assertEquals(expected.getOrDefault(key, -1L).longValue(), map.get(key)); break;
+				case 1: map.set(key, value); expected.put(key, value); break;
+				default: assertEquals(expected.containsKey(key) ? expected.remove(key).longValue() : -1, map.remove(key));
+			}
+	        assertEquals(expected.size(), map.size());
+		}
+    }
+}
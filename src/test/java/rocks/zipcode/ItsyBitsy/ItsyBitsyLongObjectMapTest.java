@@ -0,0 +1,73 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class ItsyBitsyLongObjectMapTest {
+
+    @Test
+    public void TestSetGetRemove(){
+		ItsyBitsyLongObjectMap<String> map = new ItsyBitsyLongObjectMap<>();
+
+        assertNull(map.get(1L << 40));
+        assertNull(map.set(1L << 40, "five"));
+        assertEquals("five", map.set(1L << 40, "six"));
+        assertEquals("six", map.get(1L << 40));
+        assertEquals("six", map.remove(1L << 40));
+        assertNull(map.remove(1L << 40));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void TestExtremeKeys(){
+		ItsyBitsyLongObjectMap<String> map = new ItsyBitsyLongObjectMap<>(2);
+		long[] keys = { 0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, -(1L << 32) };
+
+		for (long key : keys) {
+			map.set(key, Long.toString(key));
+		}
+        assertEquals(keys.length, map.size());
+		for (long key : keys) {
+	        assertEquals(Long.toString(key), map.get(key));
+		}
+
+		// Taking the zero key out must not disturb the keys in the arrays.
+        assertEquals("0", map.remove(0));
+        assertNull(map.get(0));
+        assertEquals(Long.toString(Long.MIN_VALUE), map.get(Long.MIN_VALUE));
+        assertEquals(keys.length - 1, map.size());
+    }
+
+    @Test
+    public void TestNullValueIsStillAKey(){
+		ItsyBitsyLongObjectMap<String> map = new ItsyBitsyLongObjectMap<>(8);
+
+		map.set(42, null);
+        assertTrue(map.containsKey(42));
+        assertEquals(1, map.size());
+        assertNull(map.remove(42));
+        assertFalse(map.containsKey(42));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void TestAgainstHashMap(){
+		ItsyBitsyLongObjectMap<String> map = new ItsyBitsyLongObjectMap<>(2);
+		HashMap<Long, String> expected = new HashMap<>();
+		Random random = new Random(0x10b2);
+
+		for (int i = 0; i < 50000; i++) {
+			long key = random.nextLong() >> 52;
+			String value = "v" + i;
+			switch (random.nextInt(3)) {
+				case 0: assertEquals(expected.get(key), map.get(key)); break;
+				case 1: map.set(key, value); expected.put(key, value); break;
+				default: assertEquals(expected.remove(key), map.remove(key));
+			}
+	        assertEquals(expected.size(), map.size());
+		}
+    }
+}
@@ -0,0 +1,108 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class ItsyBitsyMappedHashTableTest {
+
+    private static Path tempFile() throws IOException {
+		Path path = Files.createTempFile("itsybitsy", ".table");
+		Files.delete(path);
+		path.toFile().deleteOnExit();
+		return path;
+    }
+
+    @Test
+    public void TestSetGetRemove() throws IOException {
+		try (ItsyBitsyMappedHashTable table = new ItsyBitsyMappedHashTable(tempFile(), 100, -1)) {
+			assertEquals(-1, table.set(0, 10));
+			assertEquals(-1, table.set(42, 20));
+			assertEquals(20, table.set(42, 21));
+
+	        assertEquals(10, table.get(0));
+	        assertEquals(21, table.get(42));
+	        assertEquals(-1, table.get(7));
+	        assertTrue(table.containsKey(0));
+	        assertEquals(2, table.size());
+
+	        assertEquals(10, table.remove(0));
+	        assertEquals(21, table.remove(42));
+	        assertEquals(-1, table.remove(42));
+	        assertEquals(0, table.size());
+		}
+    }
+
+    @Test
+    public void TestReopen() throws IOException {
+		Path path = tempFile();
+		try (ItsyBitsyMappedHashTable table = new ItsyBitsyMappedHashTable(path, 1000)) {
+			for (long key = 0; key < 1000; key++) {
+				table.set(key * 31, key);
+			}
+			table.force();
+		}
+
+		// The capacity on disk wins over the one we ask for.
+		try (ItsyBitsyMappedHashTable table = new ItsyBitsyMappedHashTable(path, 1)) {
+	        assertEquals(1000, table.size());
+	        assertEquals(2048, table.capacity());
+			for (long key = 0; key < 1000; key++) {
+		        assertEquals(key, table.get(key * 31));
+			}
+		}
+    }
+
+    @Test
+    public void TestAgainstHashMap() throws IOException {
+		Random random = new Random(0xf11e);
+		Map<Long, Long> expected = new HashMap<>();
+
+		try (ItsyBitsyMappedHashTable table = new ItsyBitsyMappedHashTable(tempFile(), 500, Long.MIN_VALUE)) {
+			for (int i = 0; i < 20_000; i++) {
+				long key = random.nextInt(600);
+				if (random.nextBoolean() && (expected.size() < 500 || expected.containsKey(key))) {
+					Long previous = expected.put(key, (long) i);
+			        assertEquals(previous == null ? Long.MIN_VALUE : previous, table.set(key, i));
+				} else {
+					Long previous = expected.remove(key);
+			        assertEquals(previous == null ? Long.MIN_VALUE : previous, table.remove(key));
+				}
+			}
+
+	        assertEquals(expected.size(), table.size());
+			for (long key = 0; key < 600; key++) {
+		        assertEquals(expected.containsKey(key), table.containsKey(key));
+			}
+		}
+    }
+
+    @Test(expected = Error.class)
+    public void TestFull() throws IOException {
+		try (ItsyBitsyMappedHashTable table = new ItsyBitsyMappedHashTable(tempFile(), 3)) {
+			for (long key = 1; key <= 4; key++) {
+				table.set(key, key);
+			}
+		}
+    }
+
+    @Test(expected = IOException.class)
+    public void TestNotATable() throws IOException {
+		Path path = tempFile();
+		Files.write(path, new byte[128]);
+		new ItsyBitsyMappedHashTable(path, 10);
+    }
+
+    @Test(expected = Error.class)
+    public void TestClosed() throws IOException {
+		ItsyBitsyMappedHashTable table = new ItsyBitsyMappedHashTable(tempFile(), 10);
+		table.close();
+		table.get(1);
+    }
+}
@@ -0,0 +1,56 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ItsyBitsyOffHeapListTest {
+
+    @Test
+    public void TestPushGetPop(){
+		ItsyBitsyRecordLayout layout = new ItsyBitsyRecordLayout(8, 4, 2);
+		ItsyBitsyOffHeapList list = new ItsyBitsyOffHeapList(layout, 2);
+
+		for (int i = 0; i < 100; i++) {
+			list.push(1_700_000_000_000L + i, i, -i);
+		}
+
+        assertEquals(100, list.size());
+        assertEquals(1_700_000_000_042L, list.get(42, 0));
+        assertEquals(42, list.get(42, 1));
+        assertEquals(-42, list.get(42, 2));
+
+		list.set(42, 1, 7);
+        assertArrayEquals(new long[] { 1_700_000_000_042L, 7, -42 }, list.get(42));
+        assertArrayEquals(new long[] { 1_700_000_000_099L, 99, -99 }, list.pop());
+        assertEquals(99, list.size());
+		list.close();
+    }
+
+    @Test
+    public void TestExplicitOffsets(){
+		ItsyBitsyRecordLayout layout = new ItsyBitsyRecordLayout(16, new int[] { 8, 0 }, new int[] { 4, 8 });
+		ItsyBitsyOffHeapList list = new ItsyBitsyOffHeapList(layout);
+
+		list.push(5, Long.MAX_VALUE);
+
+        assertEquals(16, layout.size());
+        assertEquals(5, list.get(0, 0));
+        assertEquals(Long.MAX_VALUE, list.get(0, 1));
+        assertNull(new ItsyBitsyOffHeapList(layout).pop());
+    }
+
+    @Test(expected = Error.class)
+    public void TestClosed(){
+		ItsyBitsyOffHeapList list = new ItsyBitsyOffHeapList(new ItsyBitsyRecordLayout(8));
+		list.push(1);
+		list.close();
+		list.push(2);
+    }
+
+    @Test(expected = Error.class)
+    public void TestGetIntoWrongLength(){
+		ItsyBitsyOffHeapList list = new ItsyBitsyOffHeapList(new ItsyBitsyRecordLayout(8, 4));
+		list.push(1, 2);
+		list.get(0, new long[3]);
+    }
+}
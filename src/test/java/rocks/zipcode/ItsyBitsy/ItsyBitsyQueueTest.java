@@ -2,6 +2,11 @@ package rocks.zipcode.ItsyBitsy;
 
 import static org.junit.Assert.*;  
 import org.junit.Test;  
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
   
 public class ItsyBitsyQueueTest {  
   
@@ -16,4 +21,201 @@ public class ItsyBitsyQueueTest {
         assertEquals(value, result);  
     } 
     
+
+    @Test
+    public void TestEnqueueDequeue(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0);
+
+		queue.enqueue(1);
+		queue.enqueue(2);
+
+        assertEquals(Integer.valueOf(1), queue.peek());
+        assertEquals(Integer.valueOf(1), queue.dequeue());
+        assertEquals(Integer.valueOf(2), queue.dequeue());
+        assertEquals(0, queue.length);
+        assertNull(queue.dequeue());
+        assertNull(queue.peek());
+    }
+
+    @Test
+    public void TestWrapAroundAndGrow(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, 4);
+		int next = 0;
+		int expected = 0;
+
+		// Move the head around the ring a few times before growing it
+		// while it is wrapped.
+		for (int round = 0; round < 10; round++) {
+			queue.enqueue(next++);
+			queue.enqueue(next++);
+			queue.enqueue(next++);
+	        assertEquals(Integer.valueOf(expected++), queue.dequeue());
+	        assertEquals(Integer.valueOf(expected++), queue.dequeue());
+		}
+		for (int i = 0; i < 100; i++) {
+			queue.enqueue(next++);
+		}
+
+		while (queue.length > 0) {
+	        assertEquals(Integer.valueOf(expected++), queue.dequeue());
+		}
+        assertEquals(next, expected);
+    }
+
+    @Test
+    public void TestListFunctions(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, 4);
+
+		// Start the head near the end of the ring so everything wraps.
+		queue.enqueue(0);
+		queue.enqueue(0);
+		queue.dequeue();
+		queue.dequeue();
+
+		queue.push(2);
+		queue.push(3);
+		queue.unshift(1);
+		queue.push(4);
+		queue.unshift(0);
+
+        assertEquals(5, queue.size());
+		for (int address = 0; address < 5; address++) {
+	        assertEquals(Integer.valueOf(address), queue.get(address));
+		}
+        assertEquals(Integer.valueOf(4), queue.pop());
+        assertEquals(Integer.valueOf(0), queue.shift());
+        assertEquals(Integer.valueOf(3), queue.pop());
+        assertEquals(Integer.valueOf(1), queue.peek());
+        assertEquals(2, queue.size());
+    }
+
+    @Test(expected = Error.class)
+    public void TestGetPastTheEnd(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, 8);
+		queue.enqueue(1);
+		queue.get(1);
+    }
+
+    @Test
+    public void TestPopEmpty(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, 2);
+        assertNull(queue.pop());
+        assertNull(queue.shift());
+		queue.push(1);
+        assertEquals(Integer.valueOf(1), queue.pop());
+        assertNull(queue.peek());
+    }
+
+    @Test
+    public void TestEnsureCapacityAndTrimToSize(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, 4);
+
+		queue.ensureCapacity(100);
+        assertEquals(128, queue.capacity());
+
+		for (int i = 0; i < 100; i++) {
+			queue.enqueue(i);
+		}
+		for (int i = 0; i < 90; i++) {
+			queue.dequeue();
+		}
+		for (int i = 100; i < 120; i++) {
+			queue.enqueue(i);
+		}
+
+		// 30 items, wrapped around the end of the ring, fit in 32 slots.
+		queue.trimToSize();
+        assertEquals(32, queue.capacity());
+		for (int address = 0; address < 30; address++) {
+	        assertEquals(Integer.valueOf(90 + address), queue.get(address));
+		}
+
+		queue.enqueue(120);
+		queue.enqueue(121);
+		queue.enqueue(122);
+        assertEquals(64, queue.capacity());
+        assertEquals(Integer.valueOf(90), queue.dequeue());
+    }
+
+    @Test
+    public void TestGrowthFactor(){
+		ItsyBitsyQueue<Integer> doubling = new ItsyBitsyQueue<>(0, 4, 1.5);
+		ItsyBitsyQueue<Integer> quadrupling = new ItsyBitsyQueue<>(0, 4, 3.0);
+
+		for (int i = 0; i < 5; i++) {
+			doubling.enqueue(i);
+			quadrupling.enqueue(i);
+		}
+
+		// Both are rounded up to a power of two.
+        assertEquals(8, doubling.capacity());
+        assertEquals(16, quadrupling.capacity());
+        assertEquals(Integer.valueOf(0), quadrupling.dequeue());
+    }
+
+    @Test(expected = Error.class)
+    public void TestGrowthFactorMustGrow(){
+		new ItsyBitsyQueue<>(0, 4, 1.0);
+    }
+
+    @Test
+    public void TestBulkEnds(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, 4);
+
+		// Start the head near the end of the ring so everything wraps.
+		queue.enqueueAll(new Integer[] { 0, 0, 0 });
+		queue.dequeue(3);
+
+		queue.pushAll(new Integer[] { 3, 4, 5 });
+		queue.unshiftAll(new Integer[] { 1, 2 });
+		queue.unshift(0);
+
+        assertEquals(8, queue.capacity());
+        assertArrayEquals(new Integer[] { 0, 1 }, queue.shift(2));
+        assertArrayEquals(new Integer[] { 4, 5 }, queue.pop(2));
+        assertArrayEquals(new Integer[] { 2, 3 }, queue.dequeue(10));
+        assertArrayEquals(new Integer[0], queue.pop(1));
+        assertNull(queue.peek());
+    }
+
+    @Test(expected = Error.class)
+    public void TestInsertRangeOutsideQueue(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0);
+		queue.insertRange(1, new Integer[] { 1 });
+    }
+
+    @Test
+    public void TestRangesAgainstArrayList(){
+		ItsyBitsyQueue<Integer> queue = new ItsyBitsyQueue<>(0, 2);
+		List<Integer> expected = new ArrayList<>();
+		Random random = new Random(0x0b1c);
+
+		for (int i = 0; i < 5000; i++) {
+			int address = random.nextInt(expected.size() + 1);
+			if (random.nextInt(3) > 0) {
+				Integer[] values = new Integer[random.nextInt(4)];
+				for (int v = 0; v < values.length; v++) {
+					values[v] = random.nextInt();
+				}
+				queue.insertRange(address, values);
+				expected.addAll(address, Arrays.asList(values));
+			} else {
+				int to = address + random.nextInt(expected.size() - address + 1);
+				queue.removeRange(address, to);
+				expected.subList(address, to).clear();
+			}
+			// Keep the ring small and the head moving so the ranges wrap.
+			if (expected.size() > 40) {
+				Integer[] shifted = queue.shift(20);
+				for (Integer value : shifted) {
+			        assertEquals(expected.remove(0), value);
+				}
+			}
+
+	        assertEquals(expected.size(), queue.size());
+			for (int a = 0; a < expected.size(); a++) {
+		        assertEquals(expected.get(a), queue.get(a));
+			}
+		}
+    }
 }
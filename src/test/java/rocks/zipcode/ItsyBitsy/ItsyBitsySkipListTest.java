@@ -0,0 +1,116 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+public class ItsyBitsySkipListTest {
+
+    @Test
+    public void TestPositional(){
+		ItsyBitsySkipList<String> list = new ItsyBitsySkipList<>();
+		list.add("b", 0);
+		list.add("d", 1);
+		list.add("a", 0);
+		list.add("c", 2);
+
+        assertEquals(4, list.size());
+        assertEquals("a", list.get(0));
+        assertEquals("c", list.get(2));
+        assertEquals("d", list.get(3));
+        assertEquals("b", list.remove(1));
+        assertEquals("c", list.get(1));
+    }
+
+    @Test
+    public void TestPositionalAgainstArrayList(){
+		ItsyBitsySkipList<Integer> list = new ItsyBitsySkipList<>();
+		ArrayList<Integer> expected = new ArrayList<>();
+		Random random = new Random(0x5c1f);
+
+		for (int i = 0; i < 20000; i++) {
+			int position = random.nextInt(expected.size() + 1);
+			switch (expected.isEmpty() ? 0 : random.nextInt(4)) {
+				case 0:
+				case 1:
+					list.add(i, position);
+					expected.add(position, i);
+					break;
+				case 2:
+					position = Math.min(position, expected.size() - 1);
+			        assertEquals(expected.get(position), list.get(position));
+					break;
+				default:
+					position = Math.min(position, expected.size() - 1);
+			        assertEquals(expected.remove(position), list.remove(position));
+			}
+	        assertEquals(expected.size(), list.size());
+		}
+
+		int position = 0;
+		for (Integer value : list) {
+	        assertEquals(expected.get(position++), value);
+		}
+    }
+
+    @Test
+    public void TestSorted(){
+		ItsyBitsySkipList<Integer> list = new ItsyBitsySkipList<>(Comparator.naturalOrder());
+		ArrayList<Integer> expected = new ArrayList<>();
+		Random random = new Random(0x50f7);
+
+		for (int i = 0; i < 5000; i++) {
+			Integer value = random.nextInt(1000);
+			if (random.nextInt(3) > 0) {
+				list.add(value);
+				expected.add(value);
+				Collections.sort(expected);
+			} else {
+				boolean present = expected.remove(value);
+		        assertEquals(present ? value : null, list.removeKey(value));
+			}
+		}
+
+        assertEquals(expected.size(), list.size());
+		for (int position = 0; position < expected.size(); position++) {
+	        assertEquals(expected.get(position), list.get(position));
+		}
+		for (int value = 0; value < 1000; value++) {
+	        assertEquals(expected.indexOf(value), list.indexOf(value));
+		}
+    }
+
+    @Test(expected = Error.class)
+    public void TestSortedRejectsPositionalAdd(){
+		new ItsyBitsySkipList<Integer>(Comparator.naturalOrder()).add(1, 0);
+    }
+
+    @Test
+    public void TestIndexOfAtTheEdges(){
+		ItsyBitsySkipList<Integer> list = new ItsyBitsySkipList<>(Integer::compare);
+
+        assertEquals(-1, list.indexOf(5));
+
+		for (int value : new int[] { 40, 10, 30, 30, 20, 30, 50 }) {
+			list.add(value);
+		}
+
+		// First, last, the first of several equal values, and values that
+		// would go before the start, in a gap, and after the end.
+        assertEquals(0, list.indexOf(10));
+        assertEquals(6, list.indexOf(50));
+        assertEquals(2, list.indexOf(30));
+        assertEquals(-1, list.indexOf(5));
+        assertEquals(-1, list.indexOf(35));
+        assertEquals(-1, list.indexOf(60));
+
+        assertEquals(Integer.valueOf(30), list.removeKey(30));
+        assertEquals(2, list.indexOf(30));
+        assertNull(list.removeKey(35));
+        assertEquals(6, list.size());
+    }
+}
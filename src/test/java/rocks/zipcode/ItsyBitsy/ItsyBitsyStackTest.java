@@ -16,4 +16,93 @@ public class ItsyBitsyStackTest {
         assertEquals(value, result);  
     } 
     
+
+    @Test
+    public void TestPushPopPeek(){
+		ItsyBitsyStack<Integer> stack = new ItsyBitsyStack<>(0, 4, 4);
+
+		for (int i = 0; i < 10; i++) {
+			stack.push(i);
+		}
+
+        assertEquals(Integer.valueOf(9), stack.peek());
+		for (int i = 9; i >= 0; i--) {
+	        assertEquals(Integer.valueOf(i), stack.pop());
+		}
+        assertNull(stack.pop());
+        assertNull(stack.peek());
+    }
+
+    @Test
+    public void TestPushAfterPopReusesSlots(){
+		ItsyBitsyStack<Integer> stack = new ItsyBitsyStack<>(0, 4, 4);
+
+		stack.push(1);
+		stack.push(2);
+		stack.pop();
+		stack.push(3);
+
+        assertEquals(2, stack.size());
+        assertEquals(Integer.valueOf(3), stack.pop());
+        assertEquals(Integer.valueOf(1), stack.pop());
+    }
+
+    @Test
+    public void TestShrinkingReleasesSegments(){
+		ItsyBitsyStack<Integer> stack = new ItsyBitsyStack<>(0, 4, 4);
+
+		for (int i = 0; i < 400; i++) {
+			stack.push(i);
+		}
+        assertEquals(100, stack.allocatedSegments());
+
+		for (int i = 0; i < 398; i++) {
+			stack.pop();
+		}
+        assertTrue(stack.allocatedSegments() <= 2);
+        assertEquals(Integer.valueOf(1), stack.peek());
+    }
+
+    @Test
+    public void TestCapacityIsOnlyAHint(){
+		ItsyBitsyStack<Integer> stack = new ItsyBitsyStack<>(0, 2);
+
+		for (int i = 0; i < 1000; i++) {
+			stack.push(i);
+		}
+        assertEquals(1000, stack.size());
+        assertEquals(Integer.valueOf(999), stack.peek());
+
+		// A big capacity makes room in the spine, but doesn't allocate segments.
+		ItsyBitsyStack<Integer> big = new ItsyBitsyStack<>(0, 100_000);
+        assertEquals(0, big.allocatedSegments());
+		big.push(1);
+        assertEquals(1, big.allocatedSegments());
+    }
+
+    @Test
+    public void TestSpineShrinks(){
+		ItsyBitsyStack<Integer> stack = new ItsyBitsyStack<>(0, 16, 4);
+
+		for (int i = 0; i < 4000; i++) {
+			stack.push(i);
+		}
+        assertTrue(stack.spineLength() >= 1000);
+
+		for (int i = 0; i < 3990; i++) {
+			stack.pop();
+		}
+        assertTrue(stack.spineLength() <= 16);
+		for (int i = 9; i >= 0; i--) {
+	        assertEquals(Integer.valueOf(i), stack.pop());
+		}
+
+		// Never below what the capacity asked for.
+        assertEquals(4, stack.spineLength());
+    }
+
+    @Test(expected = Error.class)
+    public void TestNegativeCapacity(){
+		new ItsyBitsyStack<>(0, -1);
+    }
 }
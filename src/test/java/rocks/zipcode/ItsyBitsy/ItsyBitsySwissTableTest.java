@@ -0,0 +1,121 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class ItsyBitsySwissTableTest {
+
+    @Test
+    public void TestSetGetRemove(){
+		ItsyBitsySwissTable<String, Integer> table = new ItsyBitsySwissTable<>();
+
+		table.set("one", 1);
+		table.set("two", 2);
+		table.set("two", 22);
+
+        assertEquals(Integer.valueOf(1), table.get("one"));
+        assertEquals(Integer.valueOf(22), table.get("two"));
+        assertNull(table.get("three"));
+        assertEquals(2, table.size());
+        assertEquals(Integer.valueOf(1), table.remove("one"));
+        assertFalse(table.containsKey("one"));
+        assertNull(table.remove("one"));
+    }
+
+    @Test
+    public void TestAgainstHashMap(){
+		ItsyBitsySwissTable<Integer, Integer> table = new ItsyBitsySwissTable<>(0);
+		HashMap<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(0x5155);
+
+		for (int i = 0; i < 100000; i++) {
+			Integer key = random.nextInt(3000) << (random.nextBoolean() ? 12 : 0);
+			switch (random.nextInt(3)) {
+				case 0: assertEquals(expected.get(key), table.get(key)); break;
+				case 1: table.set(key, i); expected.put(key, i); break;
+				default: assertEquals(expected.remove(key), table.remove(key));
+			}
+	        assertEquals(expected.size(), table.size());
+		}
+		for (Integer key : expected.keySet()) {
+	        assertEquals(expected.get(key), table.get(key));
+		}
+    }
+
+    /**
+     * Every key has the same hashCode, so they all start in the same group
+     * and have to spill into the groups after it.
+     */
+
+    static final class SameHash {
+        final int id;
+
+        SameHash(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SameHash && ((SameHash) other).id == this.id;
+        }
+    }
+
+    @Test
+    public void TestKeysSpillAcrossGroups(){
+		ItsyBitsySwissTable<SameHash, Integer> table = new ItsyBitsySwissTable<>(64);
+
+		for (int id = 0; id < 30; id++) {
+			table.set(new SameHash(id), id);
+		}
+
+		// Removing from the first, full group leaves DELETED markers, which
+		// must not stop the search for keys that spilled further along.
+		for (int id = 0; id < 8; id++) {
+	        assertEquals(Integer.valueOf(id), table.remove(new SameHash(id)));
+		}
+		for (int id = 8; id < 30; id++) {
+	        assertEquals(Integer.valueOf(id), table.get(new SameHash(id)));
+		}
+        assertNull(table.get(new SameHash(3)));
+        assertEquals(22, table.size());
+
+		// And a re-added key has to reuse a slot without being stored twice.
+		table.set(new SameHash(20), -20);
+		table.set(new SameHash(3), -3);
+        assertEquals(23, table.size());
+        assertEquals(Integer.valueOf(-20), table.get(new SameHash(20)));
+    }
+
+    @Test
+    public void TestChurnDoesNotFillUpWithMarkers(){
+		ItsyBitsySwissTable<Integer, Integer> table = new ItsyBitsySwissTable<>(16);
+
+		// Only a few keys are ever in the table at once, but every one is new,
+		// so DELETED markers pile up until the table cleans them out.
+		for (int key = 0; key < 100_000; key++) {
+			table.set(key, key);
+			if (key >= 4) {
+		        assertEquals(Integer.valueOf(key - 4), table.remove(key - 4));
+			}
+		}
+
+        assertEquals(4, table.size());
+		for (int key = 99_996; key < 100_000; key++) {
+	        assertEquals(Integer.valueOf(key), table.get(key));
+		}
+        assertNull(table.get(0));
+    }
+
+    @Test(expected = Error.class)
+    public void TestNullKey(){
+		new ItsyBitsySwissTable<String, String>().set(null, "x");
+    }
+}
@@ -0,0 +1,155 @@
+package rocks.zipcode.ItsyBitsy;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class ItsyBitsyUnrolledLinkedListTest {
+
+    @Test
+    public void TestAddGetRemove(){
+		ItsyBitsyUnrolledLinkedList<Integer> list = new ItsyBitsyUnrolledLinkedList<>(4);
+		for (int i = 0; i < 10; i++) {
+			list.add(i, list.size());
+		}
+		list.add(99, 5);
+
+        assertEquals(11, list.size());
+        assertEquals(Integer.valueOf(4), list.get(4));
+        assertEquals(Integer.valueOf(99), list.get(5));
+        assertEquals(Integer.valueOf(9), list.get(10));
+        assertEquals(Integer.valueOf(99), list.remove(5));
+        assertEquals(Integer.valueOf(0), list.remove(0));
+        assertEquals(Integer.valueOf(1), list.get(0));
+    }
+
+    @Test
+    public void TestAppendFillsChunks(){
+		ItsyBitsyUnrolledLinkedList<Integer> list = new ItsyBitsyUnrolledLinkedList<>(8);
+		for (int i = 0; i < 64; i++) {
+			list.add(i, i);
+		}
+
+		int chunks = 0;
+		for (ItsyBitsyUnrolledLinkedList<Integer>.Chunk chunk = list.head; chunk != null; chunk = chunk.next) {
+	        assertEquals(8, chunk.count);
+			chunks++;
+		}
+        assertEquals(8, chunks);
+    }
+
+    @Test
+    public void TestAgainstArrayList(){
+		ItsyBitsyUnrolledLinkedList<Integer> list = new ItsyBitsyUnrolledLinkedList<>(6);
+		ArrayList<Integer> expected = new ArrayList<>();
+		Random random = new Random(0xc4c);
+
+		for (int i = 0; i < 20000; i++) {
+			int position = random.nextInt(expected.size() + 1);
+			if (expected.isEmpty() || random.nextInt(5) > 1) {
+				list.add(i, position);
+				expected.add(position, i);
+			} else {
+				position = Math.min(position, expected.size() - 1);
+		        assertEquals(expected.remove(position), list.remove(position));
+			}
+	        assertEquals(expected.size(), list.size());
+		}
+
+		int position = 0;
+		for (Integer value : list) {
+	        assertEquals(expected.get(position), value);
+	        assertEquals(expected.get(position), list.get(position));
+			position++;
+		}
+        assertEquals(expected.size(), position);
+
+		// Half-empty neighbours get merged, so chunks stay mostly full.
+		int chunks = 0;
+		for (ItsyBitsyUnrolledLinkedList<Integer>.Chunk chunk = list.head; chunk != null; chunk = chunk.next) {
+			chunks++;
+		}
+        assertTrue(chunks <= expected.size() / 3 + 1);
+
+		while (list.size() > 0) {
+	        assertEquals(expected.remove(0), list.remove(0));
+		}
+        assertNull(list.head);
+        assertNull(list.tail);
+    }
+
+    @Test(expected = Error.class)
+    public void TestGetOutOfRange(){
+		ItsyBitsyUnrolledLinkedList<Integer> list = new ItsyBitsyUnrolledLinkedList<>();
+		list.add(1, 0);
+		list.get(1);
+    }
+
+    @Test
+    public void TestInsertIntoAFullChunkSplitsIt(){
+		ItsyBitsyUnrolledLinkedList<Integer> list = new ItsyBitsyUnrolledLinkedList<>(4);
+		for (int i = 0; i < 4; i++) {
+			list.add(i, i);
+		}
+		list.add(99, 1);
+
+		// [0, 1, 2, 3] split into [0, 99, 1] and [2, 3].
+        assertEquals(3, list.head.count);
+        assertEquals(2, list.tail.count);
+        assertSame(list.head.next, list.tail);
+        assertSame(list.tail.prev, list.head);
+		int[] expected = { 0, 99, 1, 2, 3 };
+		for (int position = 0; position < expected.length; position++) {
+	        assertEquals(Integer.valueOf(expected[position]), list.get(position));
+		}
+    }
+
+    @Test
+    public void TestSmallestChunks(){
+		ItsyBitsyUnrolledLinkedList<Integer> list = new ItsyBitsyUnrolledLinkedList<>(2);
+
+		// Adding at the front always lands in a full head chunk.
+		for (int i = 0; i < 9; i++) {
+			list.add(i, 0);
+		}
+		for (int position = 0; position < 9; position++) {
+	        assertEquals(Integer.valueOf(8 - position), list.get(position));
+		}
+
+		// Draining from the middle keeps merging neighbours.
+		while (list.size() > 1) {
+			list.remove(list.size() / 2);
+		}
+        assertSame(list.head, list.tail);
+        assertEquals(Integer.valueOf(8), list.get(0));
+    }
+
+    @Test
+    public void TestEmptyAgainAfterRemovingEverything(){
+		ItsyBitsyUnrolledLinkedList<Integer> list = new ItsyBitsyUnrolledLinkedList<>(4);
+		for (int i = 0; i < 10; i++) {
+			list.add(i, i);
+		}
+		for (int i = 0; i < 10; i++) {
+			list.remove(list.size() - 1);
+		}
+        assertNull(list.head);
+        assertFalse(list.iterator().hasNext());
+
+		list.add(7, 0);
+        assertEquals(Integer.valueOf(7), list.get(0));
+        assertSame(list.head, list.tail);
+    }
+
+    @Test(expected = Error.class)
+    public void TestChunkSizeTooSmall(){
+		new ItsyBitsyUnrolledLinkedList<Integer>(1);
+    }
+
+    @Test(expected = Error.class)
+    public void TestRemoveFromEmpty(){
+		new ItsyBitsyUnrolledLinkedList<Integer>().remove(0);
+    }
+}